@@ -0,0 +1,130 @@
+package com.vrroom.service.impl;
+
+import com.vrroom.model.entity.SystemConfig;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Occupancy counters of an availability range computed outside the in-memory index: the original
+ * "yyyy-MM-dd|HH:mm"-keyed HashMap against today's slot counters (template slot index, int[day][slot]).
+ * Both aggregate the same booking rows and then read the count of every rendered slot.
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OccupancyCountersBenchmark
+{
+    private static final LocalDate START = LocalDate.of(2030, 1, 1);
+
+    /** Days in the range; 62 is the default availability.max-range-days. */
+    @Param({"7", "62"})
+    private int days;
+
+    /** Booked (date, time) rows in the range. */
+    @Param({"100", "2000"})
+    private int bookings;
+
+    private SlotTemplate template;
+    private Row[] rows;
+
+    @Setup
+    public void setUp()
+    {
+        template = SlotTemplate.compile(1, SystemConfig.builder()
+                .maxConcurrentBookings(4)
+                .openingTime(LocalTime.of(12, 0))
+                .closingTime(LocalTime.of(22, 0))
+                .slotDurationMinutes(60)
+                .build());
+
+        Random random = new Random(42);
+        rows = new Row[bookings];
+        for (int i = 0; i < bookings; i++)
+        {
+            rows[i] = new Row(START.plusDays(random.nextInt(days)),
+                    LocalTime.of(12 + random.nextInt(template.slotCount()), 0),
+                    1 + random.nextInt(2),
+                    60);
+        }
+    }
+
+    /** Before: string keys built per booking and again per rendered slot. */
+    @Benchmark
+    public long stringKeyedMap()
+    {
+        Map<String, Integer> taken = new HashMap<>();
+        for (Row r : rows)
+        {
+            taken.merge(r.date() + "|" + r.time().truncatedTo(ChronoUnit.MINUTES), r.rooms(), Integer::sum);
+        }
+
+        long sum = 0;
+        for (int d = 0; d < days; d++)
+        {
+            LocalDate day = START.plusDays(d);
+            for (String label : template.labels())
+            {
+                sum += taken.getOrDefault(day + "|" + label, 0);
+            }
+        }
+        return sum;
+    }
+
+    /** Now: rows spread over their spans in primitive counters, slots read by index. */
+    @Benchmark
+    public long slotCounters()
+    {
+        int slotCount = template.slotCount();
+        int[][] taken = new int[days][slotCount];
+        long startDay = START.toEpochDay();
+        for (Row r : rows)
+        {
+            int slot = template.indexOf(r.time());
+            if (slot < 0)
+            {
+                continue;
+            }
+            int[] day = taken[(int) (r.date().toEpochDay() - startDay)];
+            int last = Math.min(slotCount, slot + template.spanOf(r.duration()));
+            for (int i = slot; i < last; i++)
+            {
+                day[i] += r.rooms();
+            }
+        }
+
+        long sum = 0;
+        for (int[] day : taken)
+        {
+            for (int t : day)
+            {
+                sum += t;
+            }
+        }
+        return sum;
+    }
+
+    private record Row(LocalDate date, LocalTime time, int rooms, Integer duration)
+    {
+    }
+}
@@ -0,0 +1,38 @@
+package com.vrroom.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.List;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings for the compact availability representation. The converters are built from Boot's
+ * {@link Jackson2ObjectMapperBuilder} so dates serialize exactly as they do in JSON.
+ */
+@Configuration
+public class AvailabilityCodecConfig
+{
+    public static final MediaType COMPACT_JSON = MediaType.parseMediaType("application/vnd.vrroom.availability-compact+json");
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    public static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    /** Representations that get the compact body, in no particular preference. */
+    public static final List<MediaType> COMPACT_TYPES = List.of(COMPACT_JSON, CBOR, SMILE);
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder)
+    {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder)
+    {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
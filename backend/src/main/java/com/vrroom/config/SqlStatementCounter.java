@@ -0,0 +1,139 @@
+package com.vrroom.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements Hibernate prepares while serving each request, per route.
+ * Registered as Hibernate's statement inspector, so native queries count too; a JDBC batch counts once.
+ * Requests above {@code sql.statements.warn-threshold} are logged. {@link #capture} records the statements
+ * themselves, for tests that check the SQL Hibernate actually renders.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class SqlStatementCounter extends OncePerRequestFilter implements StatementInspector, HibernatePropertiesCustomizer
+{
+    // Only set while a request is being served on this thread; schedulers are not counted
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+    // Only set inside capture()
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    @Value("${sql.statements.warn-threshold:25}")
+    private int warnThreshold;
+
+    private final ConcurrentHashMap<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties)
+    {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql)
+    {
+        int[] count = CURRENT.get();
+        if (count != null)
+        {
+            count[0]++;
+        }
+        List<String> captured = CAPTURED.get();
+        if (captured != null)
+        {
+            captured.add(sql);
+        }
+        return sql;
+    }
+
+    /** Runs {@code action} and returns the SQL Hibernate prepared for it on this thread, in order. */
+    public List<String> capture(Runnable action)
+    {
+        List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try
+        {
+            action.run();
+        }
+        finally
+        {
+            CAPTURED.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException
+    {
+        int[] count = new int[1];
+        CURRENT.set(count);
+        try
+        {
+            filterChain.doFilter(request, response);
+        }
+        finally
+        {
+            CURRENT.remove();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = request.getMethod() + " " + (pattern != null ? pattern : "unmatched");
+            routes.computeIfAbsent(route, r -> new RouteStats()).record(count[0]);
+            if (count[0] > warnThreshold)
+            {
+                log.warn("{} ran {} SQL statements", route, count[0]);
+            }
+        }
+    }
+
+    public Map<String, Object> stats()
+    {
+        Map<String, Object> stats = new TreeMap<>();
+        routes.forEach((route, s) -> stats.put(route, s.snapshot()));
+        return stats;
+    }
+
+    private static final class RouteStats
+    {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        void record(int count)
+        {
+            requests.increment();
+            statements.add(count);
+            max.accumulate(count);
+        }
+
+        Map<String, Object> snapshot()
+        {
+            long n = requests.sum();
+            long total = statements.sum();
+            return Map.of(
+                    "requests", n,
+                    "statements", total,
+                    "avgPerRequest", n == 0 ? 0.0 : (double) total / n,
+                    "maxPerRequest", max.get());
+        }
+    }
+}
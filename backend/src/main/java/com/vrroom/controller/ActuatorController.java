@@ -1,5 +1,9 @@
 package com.vrroom.controller;
 
+import com.vrroom.config.SqlStatementCounter;
+import com.vrroom.service.AvailabilityService;
+import com.vrroom.service.impl.AvailabilityCache;
+import com.vrroom.service.impl.IdempotencyStore;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,9 +21,38 @@ import org.springframework.web.bind.annotation.RestController;
 @CrossOrigin(origins = "${cors.allowed-origins}")
 public class ActuatorController
 {
+    private final AvailabilityCache availabilityCache;
+    private final AvailabilityService availabilityService;
+    private final IdempotencyStore idempotencyStore;
+    private final SqlStatementCounter sqlStatementCounter;
+
     @GetMapping("/health")
     public ResponseEntity<?> getHealth()
     {
         return ResponseEntity.ok(Map.of("status", "UP"));
     }
+
+    @GetMapping("/availability-cache")
+    public ResponseEntity<Map<String, Object>> getAvailabilityCacheStats()
+    {
+        return ResponseEntity.ok(availabilityCache.stats());
+    }
+
+    @GetMapping("/availability-coalescing")
+    public ResponseEntity<Map<String, Object>> getAvailabilityCoalescingStats()
+    {
+        return ResponseEntity.ok(availabilityService.getCoalescingStats());
+    }
+
+    @GetMapping("/idempotency")
+    public ResponseEntity<Map<String, Object>> getIdempotencyStats()
+    {
+        return ResponseEntity.ok(idempotencyStore.stats());
+    }
+
+    @GetMapping("/sql-statements")
+    public ResponseEntity<Map<String, Object>> getSqlStatementStats()
+    {
+        return ResponseEntity.ok(sqlStatementCounter.stats());
+    }
 }
@@ -1,22 +1,46 @@
 package com.vrroom.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vrroom.config.AvailabilityCodecConfig;
 import com.vrroom.dto.Availability;
 import com.vrroom.dto.BookingDTO;
+import com.vrroom.dto.BookingFilter;
+import com.vrroom.dto.BookingPageDTO;
 import com.vrroom.dto.CreateBookingRequest;
+import com.vrroom.exception.InvalidDateRangeException;
 import com.vrroom.model.entity.User;
 import com.vrroom.model.enums.BookingStatus;
 import com.vrroom.service.AvailabilityService;
+import com.vrroom.service.BookingExportService;
 import com.vrroom.service.BookingService;
+import com.vrroom.service.impl.AvailabilityStreamHub;
+import com.vrroom.service.impl.IdempotencyStore;
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/bookings")
@@ -26,19 +50,120 @@ public class BookingController
 {
     private final BookingService bookingService;
     private final AvailabilityService availabilityService;
+    private final AvailabilityStreamHub availabilityStreamHub;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
+    private final BookingExportService bookingExportService;
 
+    private static final int MAX_NEXT_SLOTS = 50;
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String NEXT_CURSOR = "Next-Cursor";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * @deprecated unbounded list kept for old clients; returns one page of at most {@code size} bookings, with the
+     * cursor of the next one in the {@code Next-Cursor} header. Use {@code /bookings/page}.
+     */
+    @Deprecated
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<BookingDTO>> getAllBookings()
+    public ResponseEntity<List<BookingDTO>> getAllBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + MAX_PAGE_SIZE) int size)
     {
-        return ResponseEntity.ok(bookingService.getAllBookings());
+        return listPage(new BookingFilter(), cursor, size);
     }
 
+    /** @deprecated bounded like {@link #getAllBookings}; use {@code /bookings/my-bookings/page}. */
+    @Deprecated
     @GetMapping("/my-bookings")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<BookingDTO>> getMyBookings(@AuthenticationPrincipal User user)
+    public ResponseEntity<List<BookingDTO>> getMyBookings(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + MAX_PAGE_SIZE) int size)
     {
-        return ResponseEntity.ok(bookingService.getBookingsByUserId(user.getId()));
+        return listPage(BookingFilter.builder().userId(user.getId()).build(), cursor, size);
+    }
+
+    /**
+     * Keyset-paged listing for the admin page: pass the previous page's {@code nextCursor} to continue.
+     * Sorted by (date, time, id), newest first unless {@code sort=asc}.
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookingPageDTO> getBookingsPage(
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "desc") String sort,
+            @RequestParam(defaultValue = "false") boolean withTotal)
+    {
+        BookingFilter filter = BookingFilter.builder()
+                .status(status)
+                .dateFrom(dateFrom)
+                .dateTo(dateTo)
+                .email(email)
+                .build();
+        return ResponseEntity.ok(bookingService.getBookingsPage(filter, cursor, checkPageSize(size), isDescending(sort),
+                withTotal));
+    }
+
+    @GetMapping("/my-bookings/page")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BookingPageDTO> getMyBookingsPage(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "desc") String sort,
+            @RequestParam(defaultValue = "false") boolean withTotal)
+    {
+        BookingFilter filter = BookingFilter.builder()
+                .userId(user.getId())
+                .status(status)
+                .build();
+        return ResponseEntity.ok(bookingService.getBookingsPage(filter, cursor, checkPageSize(size), isDescending(sort),
+                withTotal));
+    }
+
+    /**
+     * Accounting export of every booking in the range, streamed as CSV ({@code format=csv}, the default)
+     * or NDJSON ({@code format=ndjson}) while it is read from the database.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(defaultValue = "csv") String format)
+    {
+        if (dateTo.isBefore(dateFrom))
+        {
+            throw new InvalidDateRangeException("dateTo must be >= dateFrom");
+        }
+        BookingExportService.Format exportFormat = switch (format.toLowerCase(Locale.ROOT))
+        {
+            case "csv" -> BookingExportService.Format.CSV;
+            case "ndjson" -> BookingExportService.Format.NDJSON;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+        };
+
+        MediaType contentType = exportFormat == BookingExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        String filename = "bookings-" + dateFrom + "-" + dateTo + "." + format.toLowerCase(Locale.ROOT);
+
+        StreamingResponseBody body = out -> bookingExportService.exportBookings(dateFrom, dateTo, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -48,11 +173,16 @@ public class BookingController
         return ResponseEntity.ok(bookingService.getBookingById(id));
     }
 
+    /** @deprecated bounded like {@link #getAllBookings}; use {@code /bookings/page?status=}. */
+    @Deprecated
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<BookingDTO>> getBookingsByStatus(@PathVariable BookingStatus status)
+    public ResponseEntity<List<BookingDTO>> getBookingsByStatus(
+            @PathVariable BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + MAX_PAGE_SIZE) int size)
     {
-        return ResponseEntity.ok(bookingService.getBookingsByStatus(status));
+        return listPage(BookingFilter.builder().status(status).build(), cursor, size);
     }
 
     @GetMapping("/by-date")
@@ -63,24 +193,157 @@ public class BookingController
         return ResponseEntity.ok(bookingService.getBookingsByDate(date));
     }
 
+    /**
+     * Day schedules as JSON by default. Clients that accept {@code application/vnd.vrroom.availability-compact+json},
+     * {@code application/cbor} or {@code application/x-jackson-smile} get the packed free-count arrays instead.
+     */
     @GetMapping("/availability")
-    public List<Availability.DayScheduleDto> getAvailability(
+    public ResponseEntity<?> getAvailability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String gameId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest)
+    {
+        MediaType compactType = compactTypeFor(accept);
+
+        // Answer If-None-Match from the inventory version alone, before building any schedule
+        String version = availabilityService.getAvailabilityVersion(startDate, endDate, gameId);
+        String etag = version == null ? null : compactType == null ? version : "compact-" + version;
+        if (etag != null && webRequest.checkNotModified(etag))
+        {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+
+        var response = ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT);
+        if (etag != null)
+        {
+            response.eTag(etag);
+        }
+        if (compactType != null)
+        {
+            return response.contentType(compactType)
+                    .body(availabilityService.getCompactAvailability(startDate, endDate, gameId));
+        }
+        return response.body(availabilityService.getAvailabilityForRange(startDate, endDate, gameId));
+    }
+
+    @GetMapping("/availability/summary")
+    public ResponseEntity<List<Availability.DaySummaryDto>> getAvailabilitySummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String gameId,
+            WebRequest webRequest)
+    {
+        String etag = availabilityService.getAvailabilityVersion(startDate, endDate, gameId);
+        if (etag != null && webRequest.checkNotModified("summary-" + etag))
+        {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+        }
+
+        var response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (etag != null)
+        {
+            response.eTag("summary-" + etag);
+        }
+        return response.body(availabilityService.getAvailabilitySummary(startDate, endDate, gameId));
+    }
+
+    /**
+     * Next slots with at least {@code rooms} rooms and {@code players} headsets free,
+     * e.g. {@code ?rooms=3&players=8&days=SATURDAY,SUNDAY&from=18:00}.
+     * Days default to the whole week and the time window to the whole day.
+     */
+    @GetMapping("/availability/next")
+    public ResponseEntity<List<Availability.NextSlotDto>> getNextAvailable(
+            @RequestParam(defaultValue = "1") int rooms,
+            @RequestParam(defaultValue = "0") int players,
+            @RequestParam(required = false) String gameId,
+            @RequestParam(required = false) Set<DayOfWeek> days,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(defaultValue = "5") int limit)
+    {
+        if (rooms < 1 || players < 0 || limit < 1 || limit > MAX_NEXT_SLOTS)
+        {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "rooms must be >= 1, players >= 0 and limit between 1 and " + MAX_NEXT_SLOTS);
+        }
+
+        return ResponseEntity.ok(availabilityService.findNextAvailable(
+                startDate != null ? startDate : LocalDate.now(),
+                rooms,
+                players,
+                gameId,
+                days == null || days.isEmpty() ? EnumSet.allOf(DayOfWeek.class) : days,
+                from != null ? from : LocalTime.MIN,
+                to != null ? to : LocalTime.MAX,
+                limit));
+    }
+
+    /**
+     * Same schedules as {@code /availability}, written as NDJSON (one day per line) while they are
+     * computed, so long ranges never sit in memory as a whole.
+     */
+    @GetMapping(value = "/availability/ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAvailabilityNdjson(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) String gameId)
     {
-        return availabilityService.getAvailabilityForRange(startDate, endDate, gameId);
+        // Validates the range now, while a 400 can still be sent
+        Iterator<Availability.DayScheduleDto> days = availabilityService.iterateAvailabilityForRange(startDate, endDate, gameId);
+
+        StreamingResponseBody body = out -> {
+            while (days.hasNext())
+            {
+                out.write(objectMapper.writeValueAsBytes(days.next()));
+                out.write('\n');
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate)
+    {
+        if (endDate.isBefore(startDate))
+        {
+            throw new InvalidDateRangeException("endDate must be >= startDate");
+        }
+        return availabilityStreamHub.subscribe(startDate, endDate);
     }
 
     @PostMapping
     public ResponseEntity<BookingDTO> createBooking(
             @Valid @RequestBody CreateBookingRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @AuthenticationPrincipal User user) throws Exception
     {
         String userId = (user != null) ? user.getId() : null;
-        BookingDTO created = bookingService.createBooking(request, userId);
+        if (idempotencyKey == null)
+        {
+            return ResponseEntity.status(HttpStatus.CREATED).body(bookingService.createBooking(request, userId));
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)
+        {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY + " must be 1-" + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+
+        // Retries of the same key get the first booking back instead of creating another one.
+        // Guests are told apart by their customer email, so their keys never collide with another guest's.
+        String scope = userId != null ? "user:" + userId : IdempotencyStore.guestScope(request.getCustomerEmail());
+        IdempotencyStore.Result<BookingDTO> result = idempotencyStore.execute(scope, idempotencyKey, request,
+                BookingDTO.class, () -> bookingService.createBooking(request, userId));
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                .body(result.value());
     }
 
     @PatchMapping("/{id}/status")
@@ -98,4 +361,69 @@ public class BookingController
         bookingService.cancelBooking(id);
         return ResponseEntity.noContent().build();
     }
+
+    /** Plain-list responses of the deprecated listings, backed by the keyset page. */
+    private ResponseEntity<List<BookingDTO>> listPage(BookingFilter filter, String cursor, int size)
+    {
+        BookingPageDTO page = bookingService.getBookingsPage(filter, cursor, checkPageSize(size), true, false);
+        var response = ResponseEntity.ok().header("Deprecation", "true");
+        if (page.getNextCursor() != null)
+        {
+            response.header(NEXT_CURSOR, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    private static int checkPageSize(int size)
+    {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+        {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    private static boolean isDescending(String sort)
+    {
+        if ("desc".equalsIgnoreCase(sort))
+        {
+            return true;
+        }
+        if ("asc".equalsIgnoreCase(sort))
+        {
+            return false;
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sort must be asc or desc");
+    }
+
+    /** First compact type the client lists before any plain JSON type, or null for the default representation. */
+    private static MediaType compactTypeFor(String accept)
+    {
+        if (accept == null || accept.isBlank())
+        {
+            return null;
+        }
+        try
+        {
+            for (MediaType type : MediaType.parseMediaTypes(accept))
+            {
+                for (MediaType compact : AvailabilityCodecConfig.COMPACT_TYPES)
+                {
+                    if (compact.equalsTypeAndSubtype(type))
+                    {
+                        return compact;
+                    }
+                }
+                if (MediaType.APPLICATION_JSON.equalsTypeAndSubtype(type))
+                {
+                    return null;
+                }
+            }
+        }
+        catch (InvalidMediaTypeException e)
+        {
+            return null;
+        }
+        return null;
+    }
 }
@@ -26,6 +26,12 @@ public class ConfigController {
         return ResponseEntity.ok(configService.getSystemConfig());
     }
 
+    @PutMapping("/system")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SystemConfigDTO> updateSystemConfig(@Valid @RequestBody SystemConfigDTO systemConfigDTO) {
+        return ResponseEntity.ok(configService.updateSystemConfig(systemConfigDTO));
+    }
+
     @GetMapping("/pricing")
     public ResponseEntity<PricingConfigDTO> getActivePricingConfig() {
         return ResponseEntity.ok(configService.getActivePricingConfig());
@@ -0,0 +1,48 @@
+package com.vrroom.controller;
+
+import com.vrroom.dto.RoomDTO;
+import com.vrroom.service.RoomService;
+import jakarta.validation.Valid;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/rooms")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class RoomController
+{
+    private final RoomService roomService;
+
+    @GetMapping
+    public ResponseEntity<List<RoomDTO>> getAllRooms()
+    {
+        return ResponseEntity.ok(roomService.getAllRooms());
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RoomDTO> createRoom(@Valid @RequestBody RoomDTO roomDTO)
+    {
+        return ResponseEntity.status(HttpStatus.CREATED).body(roomService.createRoom(roomDTO));
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RoomDTO> updateRoom(@PathVariable String id, @Valid @RequestBody RoomDTO roomDTO)
+    {
+        return ResponseEntity.ok(roomService.updateRoom(id, roomDTO));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteRoom(@PathVariable String id)
+    {
+        roomService.deleteRoom(id);
+        return ResponseEntity.noContent().build();
+    }
+}
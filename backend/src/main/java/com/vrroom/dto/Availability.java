@@ -17,4 +17,28 @@ public class Availability
             LocalDate date, String dateString, String dayName, List<TimeSlotAvailabilityDto> slots)
     {
     }
+
+    /** Pushed over the availability stream whenever a slot's occupancy changes. */
+    public record SlotDeltaDto(LocalDate date, String time, int availableSpots)
+    {
+    }
+
+    /** One hit of the next-available search. */
+    public record NextSlotDto(LocalDate date, String dayName, String time, int availableSpots)
+    {
+    }
+
+    /** One day of the month heatmap; {@code earliestFreeTime} is null when nothing is free. */
+    public record DaySummaryDto(
+            LocalDate date, int freeRoomSlots, int totalRoomSlots, boolean soldOut, String earliestFreeTime)
+    {
+    }
+
+    /**
+     * Compact range encoding aligned to the slot template: {@code free[d][i]} is the number of free rooms
+     * at {@code times[i]} on {@code startDate + d}, or -1 once the slot is past.
+     */
+    public record CompactAvailabilityDto(LocalDate startDate, int capacity, List<String> times, int[][] free)
+    {
+    }
 }
@@ -0,0 +1,23 @@
+package com.vrroom.dto;
+
+import com.vrroom.model.enums.BookingStatus;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Server-side filters for paged booking listings; null fields don't filter. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingFilter
+{
+    private BookingStatus status;
+    private LocalDate dateFrom;
+    private LocalDate dateTo;
+    /** Case-insensitive prefix of the customer email. */
+    private String email;
+    private String userId;
+}
@@ -0,0 +1,20 @@
+package com.vrroom.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageDTO
+{
+    private List<BookingDTO> items;
+    /** Opaque cursor for the next page; null on the last page. */
+    private String nextCursor;
+    /** Only when requested: the planner's estimate of the matching bookings, not an exact count. */
+    private Long approximateTotal;
+}
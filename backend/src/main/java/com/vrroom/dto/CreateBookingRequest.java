@@ -63,7 +63,10 @@ public class CreateBookingRequest
         @NotBlank(message = "Game ID is required")
         private String gameId;
 
-        @NotNull(message = "Room number is required")
+        /**
+         * Optional grouping hint: lines with the same value share one room. The physical room is
+         * always allocated by the server.
+         */
         @Min(value = 1, message = "Room number must be at least 1")
         private Integer roomNumber;
 
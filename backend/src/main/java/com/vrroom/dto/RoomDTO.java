@@ -0,0 +1,30 @@
+package com.vrroom.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomDTO
+{
+    private String id;
+
+    @NotNull
+    @Min(1)
+    @Max(63)
+    private Integer roomNumber;
+
+    private String name;
+    private Boolean active;
+
+    /** Games this room can run; empty means all games. */
+    private Set<String> gameIds;
+}
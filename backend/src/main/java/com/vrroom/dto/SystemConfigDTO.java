@@ -16,6 +16,8 @@ public class SystemConfigDTO
 {
     private String id;
     private Integer maxConcurrentBookings;
+    private Integer maxHeadsets;
+    private Integer maxStaff;
     private LocalTime openingTime;
     private LocalTime closingTime;
     private Integer slotDurationMinutes;
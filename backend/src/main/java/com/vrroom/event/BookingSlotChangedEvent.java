@@ -0,0 +1,12 @@
+package com.vrroom.event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published whenever a booking write changes how many rooms are taken in a slot
+ * (create, confirm, cancel, status change). Listeners react after commit.
+ */
+public record BookingSlotChangedEvent(LocalDate date, LocalTime time)
+{
+}
@@ -0,0 +1,8 @@
+package com.vrroom.event;
+
+/**
+ * Published when a game is added, removed, (de)activated or its duration or details change.
+ */
+public record GamesChangedEvent(String gameId)
+{
+}
@@ -0,0 +1,8 @@
+package com.vrroom.event;
+
+/**
+ * Published when a room is added, removed, (de)activated or its game compatibility changes.
+ */
+public record RoomsChangedEvent(String roomId)
+{
+}
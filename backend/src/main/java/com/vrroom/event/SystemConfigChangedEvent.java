@@ -0,0 +1,8 @@
+package com.vrroom.event;
+
+/**
+ * Published when opening hours, slot length or capacity change.
+ */
+public record SystemConfigChangedEvent(String configId)
+{
+}
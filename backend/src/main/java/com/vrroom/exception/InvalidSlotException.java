@@ -0,0 +1,7 @@
+package com.vrroom.exception;
+
+public class InvalidSlotException extends RuntimeException {
+    public InvalidSlotException(String message) {
+        super(message);
+    }
+}
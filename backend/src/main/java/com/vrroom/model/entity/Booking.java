@@ -12,7 +12,6 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -27,6 +26,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -37,10 +37,8 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
-@Table(name = "booking", indexes = {
-        @Index(name = "ix_booking_user", columnList = "user_id"),
-        @Index(name = "ix_booking_date_time", columnList = "bookingDate,bookingTime")
-})
+// Indexes (partial, covering and expression ones included) live in the db/migration scripts
+@Table(name = "booking")
 @Getter
 @Setter
 @Builder
@@ -88,6 +86,20 @@ public class Booking
     @Column(nullable = true, length = 32)
     private String customerPhone;
 
+    /** Denormalized distinct room count of the booking games, kept in sync by add/removeBookingGame. */
+    @Column(name = "rooms_count")
+    @Builder.Default
+    private Integer roomsCount = 0;
+
+    /** Denormalized headset demand (sum of player counts), kept in sync like roomsCount. */
+    @Column(name = "headsets_count")
+    @Builder.Default
+    private Integer headsetsCount = 0;
+
+    /** Denormalized length of the longest booked game; the booking holds every slot it overlaps. Null = one slot. */
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes;
+
     @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<BookingGame> bookingGames = new ArrayList<>();
@@ -115,11 +127,34 @@ public class Booking
     {
         bookingGames.add(bookingGame);
         bookingGame.setBooking(this);
+        syncResourceCounts();
     }
 
     public void removeBookingGame(BookingGame bookingGame)
     {
         bookingGames.remove(bookingGame);
         bookingGame.setBooking(null);
+        syncResourceCounts();
+    }
+
+    private void syncResourceCounts()
+    {
+        this.roomsCount = (int) this.bookingGames.stream()
+                .map(BookingGame::getRoomNumber)
+                .filter(Objects::nonNull)
+                .distinct()
+                .count();
+        this.headsetsCount = this.bookingGames.stream()
+                .map(BookingGame::getPlayerCount)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .sum();
+        this.durationMinutes = this.bookingGames.stream()
+                .map(BookingGame::getGame)
+                .filter(Objects::nonNull)
+                .map(Game::getDuration)
+                .filter(Objects::nonNull)
+                .max(Integer::compare)
+                .orElse(null);
     }
 }
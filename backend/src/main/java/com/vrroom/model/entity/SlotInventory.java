@@ -0,0 +1,64 @@
+package com.vrroom.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One row per bookable (date, time) slot holding the rooms and headsets taken by live bookings.
+ * Rows are created lazily on first reservation and only ever changed through the
+ * conditional updates in SlotInventoryRepository.
+ */
+@Entity
+@Table(name = "slot_inventory", uniqueConstraints = {
+        @UniqueConstraint(name = "ux_slot_inventory_slot", columnNames = { "slot_date", "slot_time" })
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotInventory
+{
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "slot_date", nullable = false)
+    private LocalDate slotDate;
+
+    @Column(name = "slot_time", nullable = false)
+    private LocalTime slotTime;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer taken = 0;
+
+    /** Bit n-1 set while room n is allocated (rooms 1..63) */
+    @Column(name = "rooms_used", nullable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long roomsUsed = 0L;
+
+    /** Room limit of the slot: rooms, capped by the game hosts on staff */
+    @Column(nullable = false)
+    private Integer capacity;
+
+    @Column(name = "headsets_taken", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer headsetsTaken = 0;
+
+    /** Null while headsets are not a constraint */
+    @Column(name = "headsets_capacity")
+    private Integer headsetsCapacity;
+}
@@ -37,6 +37,12 @@ public class SystemConfig
     @Builder.Default
     private Integer maxConcurrentBookings = 1;
 
+    /** VR headsets shared by all rooms; null = not a constraint */
+    private Integer maxHeadsets;
+
+    /** Game hosts, one per running room; null = not a constraint */
+    private Integer maxStaff;
+
     @Column(nullable = false)
     private LocalTime openingTime;
 
@@ -1,30 +1,36 @@
 package com.vrroom.repository;
 
 import com.vrroom.model.entity.BookingGame;
-import com.vrroom.model.enums.BookingStatus;
-import jakarta.persistence.LockModeType;
-import java.time.LocalDate;
-import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+// Room clashes are ruled out by allocation against slot_inventory.rooms_used, no per-room lookup needed
 public interface BookingGameRepository extends JpaRepository<BookingGame, String>
 {
-
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    // Lines of many bookings with their game names in one query, for the booking read model
     @Query("""
-                select bg from BookingGame bg
-                join fetch bg.booking b
-                where b.bookingDate = :date and b.bookingTime = :time
-                  and b.status in (:statuses)
-            """)
-    List<BookingGame> lockGamesForSlot(@Param("date") LocalDate date,
-            @Param("time") LocalTime time,
-            @Param("statuses") List<BookingStatus> statuses);
+        select bg.booking.id   as bookingId,
+               bg.id           as id,
+               g.id            as gameId,
+               g.name          as gameName,
+               bg.roomNumber   as roomNumber,
+               bg.playerCount  as playerCount
+        from BookingGame bg
+        join bg.game g
+        where bg.booking.id in :bookingIds
+        order by bg.roomNumber
+    """)
+    List<BookingLineRow> findLinesByBookingIdIn(@Param("bookingIds") Collection<String> bookingIds);
 
-    boolean existsByBooking_BookingDateAndBooking_BookingTimeAndRoomNumberAndBooking_StatusIn(
-            LocalDate date, LocalTime time, Integer roomNumber, List<BookingStatus> statuses);
+    interface BookingLineRow {
+        String getBookingId();
+        String getId();
+        String getGameId();
+        String getGameName();
+        Integer getRoomNumber();
+        Integer getPlayerCount();
+    }
 }
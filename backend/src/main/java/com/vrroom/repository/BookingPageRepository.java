@@ -0,0 +1,27 @@
+package com.vrroom.repository;
+
+import com.vrroom.dto.BookingFilter;
+import com.vrroom.model.entity.Booking;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Keyset pagination over bookings ordered by (bookingDate, bookingTime, id). A page starts right after the
+ * last key of the previous one, so it costs the same index range scan however deep the client has scrolled.
+ */
+public interface BookingPageRepository
+{
+    /** Up to {@code limit} bookings after {@code after} (null for the first page). */
+    List<Booking> findPage(BookingFilter filter, PageKey after, boolean descending, int limit);
+
+    /**
+     * Planner row estimate for the bookings matching {@code filter}, from {@code EXPLAIN} of the filtered query:
+     * constant cost however many rows match, as accurate as the table statistics.
+     */
+    long estimateMatching(BookingFilter filter);
+
+    record PageKey(LocalDate date, LocalTime time, String id)
+    {
+    }
+}
@@ -0,0 +1,137 @@
+package com.vrroom.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vrroom.dto.BookingFilter;
+import com.vrroom.model.entity.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JPQL is assembled from the filters actually set, so Postgres sees plain predicates it can match to an
+ * index instead of {@code :param is null or ...} chains. The keyset condition is a row-value comparison.
+ * Totals are the planner's estimate for the same predicates, so asking for one costs a plan, not a count.
+ */
+class BookingPageRepositoryImpl implements BookingPageRepository
+{
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findPage(BookingFilter filter, PageKey after, boolean descending, int limit)
+    {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder jpql = new StringBuilder("select b from Booking b where 1 = 1");
+        appendFilter(jpql, params, filter);
+        if (after != null)
+        {
+            jpql.append(" and (b.bookingDate, b.bookingTime, b.id) ").append(descending ? "<" : ">")
+                    .append(" (:afterDate, :afterTime, :afterId)");
+            params.put("afterDate", after.date());
+            params.put("afterTime", after.time());
+            params.put("afterId", after.id());
+        }
+        String dir = descending ? " desc" : " asc";
+        jpql.append(" order by b.bookingDate").append(dir)
+                .append(", b.bookingTime").append(dir)
+                .append(", b.id").append(dir);
+
+        TypedQuery<Booking> query = entityManager.createQuery(jpql.toString(), Booking.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long estimateMatching(BookingFilter filter)
+    {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("explain (format json) select 1 from booking b where 1 = 1");
+        appendNativeFilter(sql, params, filter);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+        try
+        {
+            // [{"Plan": {"Plan Rows": n, ...}}]: the planner's row estimate for the whole filtered query
+            JsonNode plan = JSON.readTree(String.valueOf(query.getSingleResult()));
+            return plan.path(0).path("Plan").path("Plan Rows").asLong(0);
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalStateException("Unreadable EXPLAIN output", e);
+        }
+    }
+
+    private static void appendFilter(StringBuilder jpql, Map<String, Object> params, BookingFilter filter)
+    {
+        if (filter.getUserId() != null)
+        {
+            jpql.append(" and b.user.id = :userId");
+            params.put("userId", filter.getUserId());
+        }
+        if (filter.getStatus() != null)
+        {
+            jpql.append(" and b.status = :status");
+            params.put("status", filter.getStatus());
+        }
+        if (filter.getDateFrom() != null)
+        {
+            jpql.append(" and b.bookingDate >= :dateFrom");
+            params.put("dateFrom", filter.getDateFrom());
+        }
+        if (filter.getDateTo() != null)
+        {
+            jpql.append(" and b.bookingDate <= :dateTo");
+            params.put("dateTo", filter.getDateTo());
+        }
+        if (filter.getEmail() != null && !filter.getEmail().isBlank())
+        {
+            jpql.append(" and lower(b.customerEmail) like :email escape '\\'");
+            params.put("email", escapeLike(filter.getEmail().trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+    }
+
+    /** Same predicates as {@link #appendFilter}, on the booking table's columns. */
+    private static void appendNativeFilter(StringBuilder sql, Map<String, Object> params, BookingFilter filter)
+    {
+        if (filter.getUserId() != null)
+        {
+            sql.append(" and b.user_id = :userId");
+            params.put("userId", filter.getUserId());
+        }
+        if (filter.getStatus() != null)
+        {
+            sql.append(" and b.status = :status");
+            params.put("status", filter.getStatus().name());
+        }
+        if (filter.getDateFrom() != null)
+        {
+            sql.append(" and b.booking_date >= :dateFrom");
+            params.put("dateFrom", filter.getDateFrom());
+        }
+        if (filter.getDateTo() != null)
+        {
+            sql.append(" and b.booking_date <= :dateTo");
+            params.put("dateTo", filter.getDateTo());
+        }
+        if (filter.getEmail() != null && !filter.getEmail().isBlank())
+        {
+            sql.append(" and lower(b.customer_email) like :email escape '\\'");
+            params.put("email", escapeLike(filter.getEmail().trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+    }
+
+    private static String escapeLike(String value)
+    {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
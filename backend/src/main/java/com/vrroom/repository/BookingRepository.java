@@ -2,9 +2,10 @@ package com.vrroom.repository;
 
 import com.vrroom.model.entity.Booking;
 import com.vrroom.model.enums.BookingStatus;
-import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -12,27 +13,11 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, String>
+public interface BookingRepository extends JpaRepository<Booking, String>, BookingPageRepository
 {
-    List<Booking> findByUserId(String userId);
-    List<Booking> findByStatus(BookingStatus status);
     List<Booking> findByBookingDate(LocalDate bookingDate);
     List<Booking> findByBookingDateBetween(LocalDate startDate, LocalDate endDate);
 
-    // ✅ Count rooms via BookingGame, not Booking.numberOfRooms
-    @Query("""
-        select count(distinct bg.roomNumber) from BookingGame bg
-        join bg.booking b
-        where b.bookingDate = :date
-          and b.bookingTime = :time
-          and b.status in (
-              com.vrroom.model.enums.BookingStatus.PENDING,
-              com.vrroom.model.enums.BookingStatus.CONFIRMED
-          )
-    """)
-    Integer countBookedRoomsByDateAndTime(@Param("date") LocalDate date,
-                                       @Param("time") LocalTime time);
-
     @Query("""
         select b from Booking b
         left join fetch b.bookingGames bg
@@ -41,26 +26,159 @@ public interface BookingRepository extends JpaRepository<Booking, String>
     """)
     Booking findByIdWithGames(@Param("id") String id);
 
-    // ✅ Flat view: compute rooms as count(distinct bg.roomNumber)
+    // ✅ One row per (date, time, duration): rooms already summed in SQL
     @Query("""
-        select b.bookingDate as date,
+        select b.bookingDate     as date,
+               b.bookingTime     as time,
+               b.durationMinutes as duration,
+               sum(b.roomsCount) as rooms,
+               sum(b.headsetsCount) as headsets
+        from Booking b
+        where b.bookingDate between :start and :end
+          and b.status in (
+              com.vrroom.model.enums.BookingStatus.PENDING,
+              com.vrroom.model.enums.BookingStatus.CONFIRMED
+          )
+        group by b.bookingDate, b.bookingTime, b.durationMinutes
+    """)
+    List<SlotOccupancyRow> sumOccupiedRoomsForRange(@Param("start") LocalDate start,
+                                                    @Param("end") LocalDate end);
+
+    // Live bookings with their ids, used to (re)build the in-memory occupancy index
+    @Query("""
+        select b.id          as id,
+               b.bookingDate as date,
                b.bookingTime as time,
                b.status      as status,
-               b.createdAt   as createdAt,
-               count(distinct bg.roomNumber) as rooms
+               b.roomsCount  as rooms,
+               b.headsetsCount as headsets,
+               b.durationMinutes as duration
+        from Booking b
+        where b.bookingDate between :start and :end
+          and b.status in (
+              com.vrroom.model.enums.BookingStatus.PENDING,
+              com.vrroom.model.enums.BookingStatus.CONFIRMED
+          )
+    """)
+    List<BookingOccupancyRow> findOccupancyForRange(@Param("start") LocalDate start,
+                                                    @Param("end") LocalDate end);
+
+    // Room numbers of live bookings, folded into per-booking room masks by the occupancy index
+    @Query("""
+        select b.id          as bookingId,
+               bg.roomNumber as roomNumber
         from Booking b
-        left join b.bookingGames bg
+        join b.bookingGames bg
         where b.bookingDate between :start and :end
-        group by b.bookingDate, b.bookingTime, b.status, b.createdAt
+          and b.status in (
+              com.vrroom.model.enums.BookingStatus.PENDING,
+              com.vrroom.model.enums.BookingStatus.CONFIRMED
+          )
     """)
-    List<BookingFlatRow> findFlatForRange(@Param("start") LocalDate start,
-                                          @Param("end") LocalDate end);
+    List<BookingRoomRow> findRoomNumbersForRange(@Param("start") LocalDate start,
+                                                 @Param("end") LocalDate end);
 
-    interface BookingFlatRow {
+    // Distinct rooms in use per booked (date, time, duration), for game-aware availability outside the index
+    @Query("""
+        select distinct b.bookingDate as date,
+                        b.bookingTime as time,
+                        b.durationMinutes as duration,
+                        bg.roomNumber as roomNumber
+        from Booking b
+        join b.bookingGames bg
+        where b.bookingDate between :start and :end
+          and b.status in (
+              com.vrroom.model.enums.BookingStatus.PENDING,
+              com.vrroom.model.enums.BookingStatus.CONFIRMED
+          )
+    """)
+    List<SlotRoomRow> findUsedRoomsForRange(@Param("start") LocalDate start,
+                                            @Param("end") LocalDate end);
+
+    /**
+     * Cancels up to {@code batchSize} unpaid ONLINE bookings (PENDING, created before {@code holdCutoff}) and puts
+     * their HELD gift cards back to ACTIVE, all in one statement. IN_PERSON bookings stay PENDING until an admin
+     * confirms them and are never reaped. Rows locked by a concurrent booking write are skipped
+     * and picked up by a later batch.
+     *
+     * @return ids of the cancelled bookings
+     */
+    @Query(value = """
+        with expired as (
+            select b.id, b.gift_card_id
+              from booking b
+             where b.status = 'PENDING'
+               and b.payment_method = 'ONLINE'
+               and b.created_at < :holdCutoff
+             order by b.created_at
+             limit :batchSize
+             for update skip locked
+        ), released as (
+            update gift_card g
+               set status = 'ACTIVE'
+              from expired e
+             where g.id = e.gift_card_id
+               and g.status = 'HELD'
+            returning g.id
+        )
+        update booking b
+           set status = 'CANCELLED',
+               gift_card_id = case when b.gift_card_id in (select id from released) then null else b.gift_card_id end,
+               updated_at = :now,
+               version = coalesce(b.version, 0) + 1
+          from expired e
+         where b.id = e.id
+        returning b.id
+    """, nativeQuery = true)
+    List<String> cancelExpiredHolds(@Param("holdCutoff") LocalDateTime holdCutoff,
+                                    @Param("batchSize") int batchSize,
+                                    @Param("now") LocalDateTime now);
+
+    // Slot spans of the given bookings, for releasing them from the in-memory index and notifying listeners
+    @Query("""
+        select b.id              as id,
+               b.bookingDate     as date,
+               b.bookingTime     as time,
+               b.durationMinutes as duration
+        from Booking b
+        where b.id in :ids
+    """)
+    List<BookingSpanRow> findSpansByIdIn(@Param("ids") Collection<String> ids);
+
+    interface BookingOccupancyRow {
+        String getId();
         LocalDate getDate();
         LocalTime getTime();
         BookingStatus getStatus();
-        Instant getCreatedAt();
-        Integer getRooms(); // <- count() returns Long
+        Integer getRooms();
+        Integer getHeadsets();
+        Integer getDuration();
+    }
+
+    interface SlotOccupancyRow {
+        LocalDate getDate();
+        LocalTime getTime();
+        Integer getDuration();
+        Long getRooms(); // <- sum() returns Long
+        Long getHeadsets();
+    }
+
+    interface BookingSpanRow {
+        String getId();
+        LocalDate getDate();
+        LocalTime getTime();
+        Integer getDuration();
+    }
+
+    interface BookingRoomRow {
+        String getBookingId();
+        Integer getRoomNumber();
+    }
+
+    interface SlotRoomRow {
+        LocalDate getDate();
+        LocalTime getTime();
+        Integer getDuration();
+        Integer getRoomNumber();
     }
 }
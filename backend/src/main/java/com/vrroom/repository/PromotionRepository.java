@@ -2,6 +2,7 @@ package com.vrroom.repository;
 
 import com.vrroom.model.entity.Promotion;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -28,4 +29,16 @@ public interface PromotionRepository extends JpaRepository<Promotion, String>
     List<Promotion> findActiveForGameOrGlobal(
             @Param("gameId") String gameId,
             @Param("date") LocalDate date);
+
+    /** As {@link #findActiveForGameOrGlobal}, for every game of a booking in one query. */
+    @Query("""
+            SELECT p FROM Promotion p
+            WHERE p.active = true
+              AND p.validFrom <= :date
+              AND p.validTo >= :date
+              AND (p.game IS NULL OR p.game.id IN :gameIds)
+            """)
+    List<Promotion> findActiveForGamesOrGlobal(
+            @Param("gameIds") Collection<String> gameIds,
+            @Param("date") LocalDate date);
 }
@@ -0,0 +1,15 @@
+package com.vrroom.repository;
+
+import com.vrroom.model.entity.Room;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RoomRepository extends JpaRepository<Room, String>
+{
+    List<Room> findAllByOrderByRoomNumberAsc();
+
+    Optional<Room> findByRoomNumber(Integer roomNumber);
+}
@@ -0,0 +1,194 @@
+package com.vrroom.repository;
+
+import com.vrroom.model.entity.SlotInventory;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SlotInventoryRepository extends JpaRepository<SlotInventory, String>
+{
+    /**
+     * Creates the slot row if missing, seeded from the live bookings overlapping the slot: those starting in it
+     * and longer ones started in an earlier slot whose duration reaches it.
+     * An existing row only gets its capacities refreshed from the current config.
+     */
+    @Modifying
+    @Query(value = """
+        insert into slot_inventory (id, slot_date, slot_time, taken, rooms_used, capacity, headsets_taken, headsets_capacity)
+        select cast(gen_random_uuid() as varchar), :date, :time, coalesce(sum(b.rooms_count), 0),
+               coalesce((select bit_or(cast(1 as bigint) << (bg.room_number - 1))
+                           from booking_game bg
+                           join booking lb on lb.id = bg.booking_id
+                          where lb.booking_date = :date
+                            and lb.booking_time <= cast(:time as time)
+                            and extract(epoch from cast(:time as time) - lb.booking_time) < greatest(coalesce(lb.duration_minutes, 0) * 60, 1)
+                            and bg.room_number between 1 and 63
+                            and lb.status in ('PENDING', 'CONFIRMED')), 0),
+               :capacity,
+               coalesce(sum(b.headsets_count), 0),
+               cast(:headsetsCapacity as integer)
+        from booking b
+        where b.booking_date = :date
+          and b.booking_time <= cast(:time as time)
+          and extract(epoch from cast(:time as time) - b.booking_time) < greatest(coalesce(b.duration_minutes, 0) * 60, 1)
+          and b.status in ('PENDING', 'CONFIRMED')
+        on conflict (slot_date, slot_time) do update
+            set capacity = excluded.capacity,
+                headsets_capacity = excluded.headsets_capacity
+    """, nativeQuery = true)
+    int ensureSlot(@Param("date") LocalDate date,
+                   @Param("time") LocalTime time,
+                   @Param("capacity") int capacity,
+                   @Param("headsetsCapacity") Integer headsetsCapacity);
+
+    // Takes rooms already allocated under the row lock; returns 1, or 0 if rooms or headsets would overflow
+    @Modifying
+    @Query(value = """
+        update slot_inventory
+           set taken = taken + :rooms,
+               rooms_used = rooms_used | cast(:roomMask as bigint),
+               headsets_taken = headsets_taken + :headsets
+         where slot_date = :date
+           and slot_time = :time
+           and taken + :rooms <= capacity
+           and (headsets_capacity is null or headsets_taken + :headsets <= headsets_capacity)
+    """, nativeQuery = true)
+    int tryReserve(@Param("date") LocalDate date,
+                   @Param("time") LocalTime time,
+                   @Param("rooms") int rooms,
+                   @Param("headsets") int headsets,
+                   @Param("roomMask") long roomMask);
+
+    @Modifying
+    @Query(value = """
+        update slot_inventory
+           set taken = greatest(taken - :rooms, 0),
+               rooms_used = rooms_used & ~cast(:roomMask as bigint),
+               headsets_taken = greatest(headsets_taken - :headsets, 0)
+         where slot_date = :date
+           and slot_time = :time
+    """, nativeQuery = true)
+    int release(@Param("date") LocalDate date,
+                @Param("time") LocalTime time,
+                @Param("rooms") int rooms,
+                @Param("headsets") int headsets,
+                @Param("roomMask") long roomMask);
+
+    // Row lock plus the slot's counters; rooms are allocated from rooms_used while it is held
+    @Query(value = """
+        select taken, rooms_used as "roomsUsed", capacity,
+               headsets_taken as "headsetsTaken", headsets_capacity as "headsetsCapacity"
+          from slot_inventory
+         where slot_date = :date
+           and slot_time = :time
+           for update
+    """, nativeQuery = true)
+    SlotRoomsRow lockSlotRooms(@Param("date") LocalDate date,
+                               @Param("time") LocalTime time);
+
+    // Room numbers on the lines of live bookings overlapping the slot; rooms past 63 have no bit in rooms_used
+    @Query(value = """
+        select distinct bg.room_number
+          from booking_game bg
+          join booking b on b.id = bg.booking_id
+         where b.booking_date = :date
+           and b.booking_time <= cast(:time as time)
+           and extract(epoch from cast(:time as time) - b.booking_time) < greatest(coalesce(b.duration_minutes, 0) * 60, 1)
+           and b.status in ('PENDING', 'CONFIRMED')
+    """, nativeQuery = true)
+    List<Integer> findRoomNumbersInUse(@Param("date") LocalDate date,
+                                       @Param("time") LocalTime time);
+
+    @Query(value = """
+        select least(capacity - taken, coalesce(headsets_capacity - headsets_taken, capacity - taken))
+          from slot_inventory
+         where slot_date = :date
+           and slot_time = :time
+    """, nativeQuery = true)
+    Integer findFreeRooms(@Param("date") LocalDate date,
+                          @Param("time") LocalTime time);
+
+    // Recounts the slot (rooms, used rooms, headsets) from the live bookings overlapping it
+    @Modifying
+    @Query(value = """
+        update slot_inventory s
+           set taken = (select coalesce(sum(b.rooms_count), 0)
+                          from booking b
+                         where b.booking_date = s.slot_date
+                           and b.booking_time <= s.slot_time
+                           and extract(epoch from s.slot_time - b.booking_time) < greatest(coalesce(b.duration_minutes, 0) * 60, 1)
+                           and b.status in ('PENDING', 'CONFIRMED')),
+               rooms_used = (select coalesce(bit_or(cast(1 as bigint) << (bg.room_number - 1)), 0)
+                               from booking_game bg
+                               join booking b on b.id = bg.booking_id
+                              where b.booking_date = s.slot_date
+                                and b.booking_time <= s.slot_time
+                                and extract(epoch from s.slot_time - b.booking_time) < greatest(coalesce(b.duration_minutes, 0) * 60, 1)
+                                and bg.room_number between 1 and 63
+                                and b.status in ('PENDING', 'CONFIRMED')),
+               headsets_taken = (select coalesce(sum(b.headsets_count), 0)
+                                   from booking b
+                                  where b.booking_date = s.slot_date
+                                    and b.booking_time <= s.slot_time
+                                    and extract(epoch from s.slot_time - b.booking_time) < greatest(coalesce(b.duration_minutes, 0) * 60, 1)
+                                    and b.status in ('PENDING', 'CONFIRMED'))
+         where s.slot_date = :date
+           and s.slot_time = :time
+    """, nativeQuery = true)
+    int resync(@Param("date") LocalDate date,
+               @Param("time") LocalTime time);
+
+    // Row locks on every slot of the given days, taken in the (date, time) order reservations lock them in
+    @Query(value = """
+        select id
+          from slot_inventory
+         where slot_date in (:dates)
+         order by slot_date, slot_time
+           for update
+    """, nativeQuery = true)
+    List<String> lockDays(@Param("dates") Collection<LocalDate> dates);
+
+    // Same recount for every slot row of the given days in one statement, after a batch of holds was reaped.
+    // Callers lock the rows with lockDays first: the UPDATE itself visits them in no particular order.
+    @Modifying
+    @Query(value = """
+        update slot_inventory s
+           set taken = (select coalesce(sum(b.rooms_count), 0)
+                          from booking b
+                         where b.booking_date = s.slot_date
+                           and b.booking_time <= s.slot_time
+                           and extract(epoch from s.slot_time - b.booking_time) < greatest(coalesce(b.duration_minutes, 0) * 60, 1)
+                           and b.status in ('PENDING', 'CONFIRMED')),
+               rooms_used = (select coalesce(bit_or(cast(1 as bigint) << (bg.room_number - 1)), 0)
+                               from booking_game bg
+                               join booking b on b.id = bg.booking_id
+                              where b.booking_date = s.slot_date
+                                and b.booking_time <= s.slot_time
+                                and extract(epoch from s.slot_time - b.booking_time) < greatest(coalesce(b.duration_minutes, 0) * 60, 1)
+                                and bg.room_number between 1 and 63
+                                and b.status in ('PENDING', 'CONFIRMED')),
+               headsets_taken = (select coalesce(sum(b.headsets_count), 0)
+                                   from booking b
+                                  where b.booking_date = s.slot_date
+                                    and b.booking_time <= s.slot_time
+                                    and extract(epoch from s.slot_time - b.booking_time) < greatest(coalesce(b.duration_minutes, 0) * 60, 1)
+                                    and b.status in ('PENDING', 'CONFIRMED'))
+         where s.slot_date in (:dates)
+    """, nativeQuery = true)
+    int resyncDays(@Param("dates") Collection<LocalDate> dates);
+
+    interface SlotRoomsRow {
+        Integer getTaken();
+        Long getRoomsUsed();
+        Integer getCapacity();
+        Integer getHeadsetsTaken();
+        Integer getHeadsetsCapacity();
+    }
+}
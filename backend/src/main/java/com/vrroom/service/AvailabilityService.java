@@ -9,7 +9,42 @@ import java.util.*;
 public interface AvailabilityService
 {
     @Transactional
-    boolean isSlotAvailable(LocalDate date, LocalTime time, Integer requestedRooms);
+    /** True if rooms and headsets are free throughout every slot a booking of {@code durationMinutes} overlaps. */
+    boolean isSlotAvailable(LocalDate date, LocalTime time, Integer requestedRooms, Integer requestedHeadsets,
+            Integer durationMinutes);
+
+    /** Free rooms of the slot, bounded by its free staff and headsets. */
+    int getFreeRooms(LocalDate date, LocalTime time);
+
+    /** Free VR headsets of the slot; Integer.MAX_VALUE when headsets are not a constraint. */
+    int getFreeHeadsets(LocalDate date, LocalTime time);
 
     List<Availability.DayScheduleDto> getAvailabilityForRange(LocalDate startDate, LocalDate endDate, String gameId);
+
+    /**
+     * Lazily computes the range a few days at a time, so memory stays constant however long the
+     * range is. The range is validated eagerly; longer ranges than {@link #getAvailabilityForRange} are accepted.
+     */
+    Iterator<Availability.DayScheduleDto> iterateAvailabilityForRange(LocalDate startDate, LocalDate endDate, String gameId);
+
+    /** The range as packed per-day free counts (see {@link Availability.CompactAvailabilityDto}); null without a config. */
+    Availability.CompactAvailabilityDto getCompactAvailability(LocalDate startDate, LocalDate endDate, String gameId);
+
+    /** Per-day free room-slots, sold-out flag and earliest free time; past slots count as taken. */
+    List<Availability.DaySummaryDto> getAvailabilitySummary(LocalDate startDate, LocalDate endDate, String gameId);
+
+    /**
+     * First {@code limit} slots from {@code from} on with at least {@code rooms} rooms and {@code players} headsets
+     * free, on the given days of week and starting in [{@code windowStart}, {@code windowEnd}).
+     */
+    List<Availability.NextSlotDto> findNextAvailable(LocalDate from, int rooms, int players, String gameId, Set<DayOfWeek> daysOfWeek,
+            LocalTime windowStart, LocalTime windowEnd, int limit);
+
+    /** Counters of the single-flight coalescing of identical concurrent range requests. */
+    Map<String, Object> getCoalescingStats();
+
+    /**
+     * Cheap version of the availability for the range, usable as an ETag; null if unknown.
+     */
+    String getAvailabilityVersion(LocalDate startDate, LocalDate endDate, String gameId);
 }
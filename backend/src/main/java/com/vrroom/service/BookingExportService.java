@@ -0,0 +1,21 @@
+package com.vrroom.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Bulk export of bookings for accounting. Rows go from a forward-only JDBC cursor straight to the output,
+ * one at a time, so heap use does not depend on the number of bookings exported.
+ */
+public interface BookingExportService
+{
+    enum Format
+    {
+        CSV,
+        NDJSON
+    }
+
+    /** Writes every booking dated {@code from..to} (inclusive) ordered by date and time; returns the row count. */
+    long exportBookings(LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException;
+}
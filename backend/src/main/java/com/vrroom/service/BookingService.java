@@ -1,6 +1,8 @@
 package com.vrroom.service;
 
 import com.vrroom.dto.BookingDTO;
+import com.vrroom.dto.BookingFilter;
+import com.vrroom.dto.BookingPageDTO;
 import com.vrroom.dto.CreateBookingRequest;
 import com.vrroom.model.enums.BookingStatus;
 import java.time.LocalDate;
@@ -8,14 +10,14 @@ import java.util.List;
 
 public interface BookingService
 {
-    List<BookingDTO> getAllBookings();
-
-    List<BookingDTO> getBookingsByUserId(String userId);
-
-    List<BookingDTO> getBookingsByStatus(BookingStatus status);
-
     List<BookingDTO> getBookingsByDate(LocalDate date);
 
+    /**
+     * One page of bookings ordered by (date, time, id), starting after {@code cursor}
+     * (null for the first page). {@code withTotal} adds an approximate total.
+     */
+    BookingPageDTO getBookingsPage(BookingFilter filter, String cursor, int size, boolean descending, boolean withTotal);
+
     BookingDTO getBookingById(String id);
 
     BookingDTO createBooking(CreateBookingRequest request, String userId) throws Exception;
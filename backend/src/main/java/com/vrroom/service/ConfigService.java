@@ -11,6 +11,8 @@ public interface ConfigService {
 
     SystemConfigDTO getSystemConfig();
 
+    SystemConfigDTO updateSystemConfig(SystemConfigDTO systemConfigDTO);
+
     PricingConfigDTO getActivePricingConfig();
 
     PricingConfigDTO createPricingConfig(PricingConfigDTO pricingConfigDTO);
@@ -1,5 +1,6 @@
 package com.vrroom.service;
 
+import com.vrroom.model.entity.GiftCard;
 import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
 
@@ -11,9 +12,16 @@ public interface GiftCardService
     @Transactional
     BigDecimal peekDiscount(String code);
 
+    /** As {@link #peekDiscount(String)}, for a card the caller already loaded. */
+    BigDecimal peekDiscount(GiftCard card);
+
     @Transactional
     void holdGiftCard(String code);
 
+    /** As {@link #holdGiftCard(String)}, for a card the caller already loaded. */
+    @Transactional
+    void holdGiftCard(GiftCard card);
+
     @Transactional
     void redeemGiftCard(String code, String bookingId);
 
@@ -1,8 +1,13 @@
 package com.vrroom.service;
 
 import com.vrroom.dto.CreateBookingRequest;
+import com.vrroom.model.entity.Game;
+import com.vrroom.model.entity.PricingConfig;
+import com.vrroom.model.entity.Promotion;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 import com.vrroom.dto.PricingPreviewDTO;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,6 +17,13 @@ public interface PricingService
     @Transactional
     BigDecimal calculateTotalPriceForBooking(CreateBookingRequest req);
 
+    /**
+     * Prices a booking from aggregates the caller already loaded: the booking's games, the active
+     * pricing config and the promotions active on the booking date. Runs no queries of its own.
+     */
+    BigDecimal calculateTotalPriceForBooking(CreateBookingRequest req, Map<String, Game> gamesById,
+            PricingConfig cfg, List<Promotion> promotions);
+
     /**
      * Preview pricing for a single game/date/player count without creating a booking.
      */
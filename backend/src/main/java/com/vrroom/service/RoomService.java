@@ -0,0 +1,15 @@
+package com.vrroom.service;
+
+import com.vrroom.dto.RoomDTO;
+import java.util.List;
+
+public interface RoomService
+{
+    List<RoomDTO> getAllRooms();
+
+    RoomDTO createRoom(RoomDTO roomDTO);
+
+    RoomDTO updateRoom(String id, RoomDTO roomDTO);
+
+    void deleteRoom(String id);
+}
@@ -0,0 +1,31 @@
+package com.vrroom.service;
+
+import com.vrroom.model.entity.Booking;
+import com.vrroom.model.enums.BookingStatus;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Authoritative, DB-backed room and headset counters per slot. Must run inside the booking transaction,
+ * so a rollback also rolls back the reservation.
+ */
+public interface SlotInventoryService
+{
+    /**
+     * Atomically allocates and takes one room per entry of {@code gameIdsPerRoom}, each able to run
+     * all the games of its entry, plus {@code headsets} VR headsets, in every slot a booking of
+     * {@code durationMinutes} starting at {@code time} overlaps.
+     *
+     * @return the allocated room number per entry, the same rooms for the whole span
+     * @throws com.vrroom.exception.InsufficientCapacityException if rooms, staff or headsets of a slot
+     *         would overflow or no compatible room is free for the whole span
+     */
+    int[] reserve(LocalDate date, LocalTime time, List<Set<String>> gameIdsPerRoom, int headsets, Integer durationMinutes);
+
+    /**
+     * Applies a status change of an existing booking (already set on the entity) to the counter.
+     */
+    void onStatusChange(Booking booking, BookingStatus previousStatus);
+}
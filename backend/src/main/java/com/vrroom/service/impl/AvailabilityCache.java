@@ -0,0 +1,151 @@
+package com.vrroom.service.impl;
+
+import com.vrroom.dto.Availability.DayScheduleDto;
+import com.vrroom.event.BookingSlotChangedEvent;
+import com.vrroom.event.GamesChangedEvent;
+import com.vrroom.event.RoomsChangedEvent;
+import com.vrroom.event.SystemConfigChangedEvent;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded LRU cache of computed day schedules per (date, gameId).
+ * Entries are dropped per date when a booking in that date changes, and all at once when the
+ * system config, rooms or games change (reaped holds included, they publish slot events too). The TTL is only a safety net.
+ */
+@Component
+@Slf4j
+public class AvailabilityCache
+{
+    @Value("${availability.cache.max-entries:5000}")
+    private int maxEntries;
+
+    @Value("${availability.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    // ----- guarded by "this" -----
+    private long generation;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest)
+        {
+            if (size() > maxEntries)
+            {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public synchronized DayScheduleDto get(LocalDate date, String gameId)
+    {
+        Key key = new Key(date, gameId);
+        Entry entry = entries.get(key);
+        if (entry == null || entry.expiresAtNanos() - System.nanoTime() < 0)
+        {
+            if (entry != null)
+            {
+                entries.remove(key);
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.day();
+    }
+
+    /** Current generation, to be passed back to {@link #put} once the value is computed. */
+    public synchronized long generation()
+    {
+        return generation;
+    }
+
+    /** Stores the value unless an invalidation happened since {@code generation} was read. */
+    public synchronized void put(long generation, LocalDate date, String gameId, DayScheduleDto day)
+    {
+        if (generation != this.generation)
+        {
+            return;
+        }
+        entries.put(new Key(date, gameId),
+                new Entry(day, System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+    }
+
+    public synchronized void invalidate(LocalDate date)
+    {
+        generation++;
+        invalidations.increment();
+        entries.keySet().removeIf(k -> k.date().equals(date));
+    }
+
+    public synchronized void clear()
+    {
+        generation++;
+        invalidations.increment();
+        entries.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotChanged(BookingSlotChangedEvent event)
+    {
+        invalidate(event.date());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConfigChanged(SystemConfigChangedEvent event)
+    {
+        log.info("System config changed, clearing availability cache");
+        clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomsChanged(RoomsChangedEvent event)
+    {
+        log.info("Rooms changed, clearing availability cache");
+        clear();
+    }
+
+    // Cached game-aware days were computed with the game's old duration
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGamesChanged(GamesChangedEvent event)
+    {
+        log.info("Games changed, clearing availability cache");
+        clear();
+    }
+
+    public synchronized Map<String, Object> stats()
+    {
+        long h = hits.sum();
+        long m = misses.sum();
+        return Map.of(
+                "size", entries.size(),
+                "maxEntries", maxEntries,
+                "hits", h,
+                "misses", m,
+                "hitRatio", h + m == 0 ? 0.0 : (double) h / (h + m),
+                "evictions", evictions.sum(),
+                "invalidations", invalidations.sum());
+    }
+
+    private record Key(LocalDate date, String gameId)
+    {
+    }
+
+    private record Entry(DayScheduleDto day, long expiresAtNanos)
+    {
+    }
+}
@@ -1,19 +1,26 @@
 package com.vrroom.service.impl;
 
-import com.vrroom.model.entity.SystemConfig;
-import com.vrroom.model.enums.BookingStatus;
+import com.vrroom.dto.Availability.CompactAvailabilityDto;
 import com.vrroom.dto.Availability.DayScheduleDto;
+import com.vrroom.dto.Availability.DaySummaryDto;
+import com.vrroom.dto.Availability.NextSlotDto;
 import com.vrroom.dto.Availability.TimeSlotAvailabilityDto;
+import com.vrroom.exception.InvalidDateRangeException;
 import com.vrroom.exception.ResourceNotFoundException;
+import com.vrroom.model.entity.Game;
 import com.vrroom.repository.BookingRepository;
-import com.vrroom.repository.SystemConfigRepository;
+import com.vrroom.repository.GameRepository;
 import com.vrroom.service.AvailabilityService;
 import io.micrometer.common.lang.Nullable;
 import java.time.*;
 import java.time.format.TextStyle;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,149 +28,600 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class AvailabilityServiceImpl implements AvailabilityService
 {
-    private final SystemConfigRepository systemConfigRepository;
+    private final SlotTemplateRegistry slotTemplates;
 
     private final BookingRepository bookingRepository;
 
-    private static final Duration HOLD_WINDOW = Duration.ofMinutes(15);
+    private final SlotOccupancyIndex occupancyIndex;
+
+    private final AvailabilityCache availabilityCache;
+
+    private final RoomCompatibility roomCompatibility;
+
+    private final GameRepository gameRepository;
+
+    private final ConcurrentHashMap<FlightKey, CompletableFuture<List<DayScheduleDto>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder ledCalls = new LongAdder();
+    private final LongAdder collapsedCalls = new LongAdder();
+
+    @Value("${availability.max-range-days:62}")
+    private int maxRangeDays;
+
+    @Value("${availability.stream.max-range-days:366}")
+    private int maxStreamRangeDays;
+
+    /** Days computed per step when streaming; bounds the per-request working set */
+    private static final int STREAM_CHUNK_DAYS = 7;
+
+    /** "Mon".."Sun", indexed by DayOfWeek.ordinal() */
+    private static final String[] DAY_NAMES = Arrays.stream(DayOfWeek.values())
+            .map(d -> d.getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
+            .toArray(String[]::new);
 
     @Transactional
     @Override
-    public boolean isSlotAvailable(LocalDate date, LocalTime time, Integer requestedRooms)
+    public boolean isSlotAvailable(LocalDate date, LocalTime time, Integer requestedRooms, Integer requestedHeadsets,
+            Integer durationMinutes)
+    {
+        int span = requireTemplate().spanOf(durationMinutes);
+        return freeRooms(date, time, span) >= requestedRooms && freeHeadsets(date, time, span) >= requestedHeadsets;
+    }
+
+    @Override
+    public int getFreeRooms(LocalDate date, LocalTime time)
     {
-        Integer availableSlots = getNumberOfFreeRoomsForDate(date, time);
-        return availableSlots >= requestedRooms;
+        return freeRooms(date, time, 1);
+    }
+
+    @Override
+    public int getFreeHeadsets(LocalDate date, LocalTime time)
+    {
+        return freeHeadsets(date, time, 1);
     }
 
     @Override
     public List<DayScheduleDto> getAvailabilityForRange(LocalDate start, LocalDate end, @Nullable String maybeGameId)
     {
-        if (end.isBefore(start))
+        checkRange(start, end, maxRangeDays);
+
+        // Single flight: identical concurrent requests share one computation
+        final FlightKey key = new FlightKey(start, end, maybeGameId);
+        final CompletableFuture<List<DayScheduleDto>> flight = new CompletableFuture<>();
+        final CompletableFuture<List<DayScheduleDto>> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null)
         {
-            throw new IllegalArgumentException("endDate must be >= startDate");
+            collapsedCalls.increment();
+            try
+            {
+                return leader.join();
+            }
+            catch (CompletionException e)
+            {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
         }
 
-        final Optional<SystemConfig> cfg = systemConfigRepository.findLatestConfig();
-        if (cfg.isEmpty())
+        ledCalls.increment();
+        try
         {
-            // TODO: Error
-            return null;
+            List<DayScheduleDto> days = loadAvailabilityForRange(start, end, maybeGameId);
+            flight.complete(days);
+            return days;
         }
-        final int maxConcurrent = cfg.get().getMaxConcurrentBookings(); // e.g. 2
-        final LocalTime open = cfg.get().getOpeningTime(); // e.g. 12:00
-        final LocalTime close = cfg.get().getClosingTime(); // e.g. 21:00
-        final int slotMins = cfg.get().getSlotDurationMinutes(); // e.g. 60
+        catch (RuntimeException e)
+        {
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        finally
+        {
+            inFlight.remove(key, flight);
+        }
+    }
 
-        final Map<String, Integer> roomsTaken = preloadRoomsTaken(start, end, maybeGameId);
+    @Override
+    public Map<String, Object> getCoalescingStats()
+    {
+        return Map.of(
+                "inFlight", inFlight.size(),
+                "computations", ledCalls.sum(),
+                "collapsedCalls", collapsedCalls.sum());
+    }
 
-        final List<String> times = generateTimes(open, close, slotMins);
-        final LocalDate today = LocalDate.now();
+    private List<DayScheduleDto> loadAvailabilityForRange(LocalDate start, LocalDate end, @Nullable String maybeGameId)
+    {
+        // "now" is taken once per request, every slot is compared against the same instant
+        final LocalDateTime now = LocalDateTime.now();
+        final LocalDate today = now.toLocalDate();
+        final int dayCount = (int) (end.toEpochDay() - start.toEpochDay() + 1);
 
-        List<DayScheduleDto> days = new ArrayList<>();
-        LocalDate cursor = start;
+        // Future days come from the cache; today and past days are always rendered (past-ness moves)
+        final long generation = availabilityCache.generation();
+        final DayScheduleDto[] days = new DayScheduleDto[dayCount];
+        int firstMiss = -1;
+        int lastMiss = -1;
+        for (int d = 0; d < dayCount; d++)
+        {
+            LocalDate day = start.plusDays(d);
+            days[d] = day.isAfter(today) ? availabilityCache.get(day, maybeGameId) : null;
+            if (days[d] == null)
+            {
+                firstMiss = firstMiss < 0 ? d : firstMiss;
+                lastMiss = d;
+            }
+        }
 
-        while (!cursor.isAfter(end))
+        if (firstMiss >= 0)
         {
-            final LocalDate day = cursor;
-            String dayName = day.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+            List<DayScheduleDto> computed = computeRange(start.plusDays(firstMiss), start.plusDays(lastMiss), maybeGameId, now);
+            if (computed == null)
+            {
+                return null;
+            }
+            for (int i = 0; i < computed.size(); i++)
+            {
+                int d = firstMiss + i;
+                if (days[d] == null)
+                {
+                    days[d] = computed.get(i);
+                    if (days[d].date().isAfter(today))
+                    {
+                        availabilityCache.put(generation, days[d].date(), maybeGameId, days[d]);
+                    }
+                }
+            }
+        }
+
+        // Shared between coalesced callers, so read-only
+        return Collections.unmodifiableList(Arrays.asList(days));
+    }
 
-            List<TimeSlotAvailabilityDto> slots = times.stream()
-                    .map(t -> buildSlot(day, t, today, maxConcurrent, roomsTaken))
-                    .toList();
+    @Override
+    public Iterator<DayScheduleDto> iterateAvailabilityForRange(LocalDate start, LocalDate end, @Nullable String maybeGameId)
+    {
+        checkRange(start, end, maxStreamRangeDays);
 
-            days.add(new DayScheduleDto(day, day.toString(), dayName, slots));
-            cursor = cursor.plusDays(1);
+        return new Iterator<>()
+        {
+            private LocalDate nextFrom = start;
+            private Iterator<DayScheduleDto> chunk = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext()
+            {
+                while (!chunk.hasNext() && !nextFrom.isAfter(end))
+                {
+                    LocalDate to = nextFrom.plusDays(STREAM_CHUNK_DAYS - 1);
+                    List<DayScheduleDto> days = getAvailabilityForRange(nextFrom, to.isAfter(end) ? end : to, maybeGameId);
+                    nextFrom = to.plusDays(1);
+                    chunk = days == null ? Collections.emptyIterator() : days.iterator();
+                }
+                return chunk.hasNext();
+            }
+
+            @Override
+            public DayScheduleDto next()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                return chunk.next();
+            }
+        };
+    }
+
+    @Override
+    public CompactAvailabilityDto getCompactAvailability(LocalDate start, LocalDate end, @Nullable String maybeGameId)
+    {
+        checkRange(start, end, maxStreamRangeDays);
+
+        final LocalDateTime now = LocalDateTime.now();
+        final Occupancy occupancy = loadOccupancy(start, end, maybeGameId);
+        if (occupancy == null)
+        {
+            return null;
+        }
+
+        final SlotTemplate template = occupancy.template();
+        final long nowDay = now.toLocalDate().toEpochDay();
+        final long nowNanos = now.toLocalTime().toNanoOfDay();
+        final int dayCount = (int) (end.toEpochDay() - start.toEpochDay() + 1);
+
+        final int[][] free = new int[dayCount][template.slotCount()];
+        for (int d = 0; d < dayCount; d++)
+        {
+            final long epochDay = start.toEpochDay() + d;
+            for (int i = 0; i < template.slotCount(); i++)
+            {
+                free[d][i] = isPast(epochDay, template.minuteAt(i), nowDay, nowNanos)
+                        ? -1
+                        : Math.max(0, template.roomLimit() - occupancy.taken().taken(d, i));
+            }
+        }
+        return new CompactAvailabilityDto(start, template.roomLimit(), template.labels(), free);
+    }
+
+    @Override
+    public List<DaySummaryDto> getAvailabilitySummary(LocalDate start, LocalDate end, @Nullable String maybeGameId)
+    {
+        checkRange(start, end, maxRangeDays);
+
+        final LocalDateTime now = LocalDateTime.now();
+        final Occupancy occupancy = loadOccupancy(start, end, maybeGameId);
+        if (occupancy == null)
+        {
+            return null;
         }
 
+        final SlotTemplate template = occupancy.template();
+        final long nowDay = now.toLocalDate().toEpochDay();
+        final long nowNanos = now.toLocalTime().toNanoOfDay();
+        final int dayCount = (int) (end.toEpochDay() - start.toEpochDay() + 1);
+
+        List<DaySummaryDto> days = new ArrayList<>(dayCount);
+        for (int d = 0; d < dayCount; d++)
+        {
+            final LocalDate day = start.plusDays(d);
+            final long epochDay = day.toEpochDay();
+
+            int free = 0;
+            String earliest = null;
+            for (int i = 0; i < template.slotCount(); i++)
+            {
+                if (isPast(epochDay, template.minuteAt(i), nowDay, nowNanos))
+                {
+                    continue;
+                }
+                int slotFree = Math.max(0, template.roomLimit() - occupancy.taken().taken(d, i));
+                if (slotFree > 0 && earliest == null)
+                {
+                    earliest = template.labelAt(i);
+                }
+                free += slotFree;
+            }
+            days.add(new DaySummaryDto(day, free, template.slotCount() * template.roomLimit(), free == 0, earliest));
+        }
         return days;
     }
 
-    private Integer getNumberOfFreeRoomsForDate(LocalDate date, LocalTime time)
+    @Override
+    public List<NextSlotDto> findNextAvailable(LocalDate from, int rooms, int players, @Nullable String maybeGameId,
+            Set<DayOfWeek> daysOfWeek, LocalTime windowStart, LocalTime windowEnd, int limit)
+    {
+        int dayMask = 0;
+        for (DayOfWeek d : daysOfWeek)
+        {
+            dayMask |= 1 << d.ordinal();
+        }
+
+        // -1 = any room; with a game only its compatible rooms count
+        SlotTemplate template = slotTemplates.current();
+        long compatible = maybeGameId == null || template == null
+                ? -1L
+                : roomCompatibility.roomsFor(maybeGameId, template.capacity());
+        LocalDate today = LocalDate.now();
+        int span = template == null ? 1 : spanFor(maybeGameId, template);
+        var hits = occupancyIndex.findFree(from.isBefore(today) ? today : from, rooms, players, span, compatible,
+                dayMask, minuteOfDay(windowStart), minuteOfDay(windowEnd), limit, LocalDateTime.now());
+        if (hits == null)
+        {
+            // Index only stays unloaded without a system config, and then nothing is bookable
+            return List.of();
+        }
+
+        List<NextSlotDto> result = new ArrayList<>(hits.size());
+        for (var h : hits)
+        {
+            result.add(new NextSlotDto(h.date(), DAY_NAMES[h.date().getDayOfWeek().ordinal()],
+                    String.format("%02d:%02d", h.minuteOfDay() / 60, h.minuteOfDay() % 60), h.freeRooms()));
+        }
+        return result;
+    }
+
+    @Override
+    public String getAvailabilityVersion(LocalDate start, LocalDate end, @Nullable String maybeGameId)
     {
-        Integer maxRooms = systemConfigRepository.findLatestConfig()
-                .map(SystemConfig::getMaxConcurrentBookings).orElseThrow(
-                        () -> new ResourceNotFoundException("Max number of bookings is required"));
+        if (end.isBefore(start))
+        {
+            return null;
+        }
+        return occupancyIndex.versionTag(start, end, LocalDateTime.now());
+    }
 
-        Integer bookedRooms = bookingRepository.countBookedRoomsByDateAndTime(date, time);
-        if (bookedRooms == null)
+    private static void checkRange(LocalDate start, LocalDate end, int maxDays)
+    {
+        if (end.isBefore(start))
+        {
+            throw new InvalidDateRangeException("endDate must be >= startDate");
+        }
+        long days = end.toEpochDay() - start.toEpochDay() + 1;
+        if (days > maxDays)
         {
-            bookedRooms = 0;
+            throw new InvalidDateRangeException("Date range of " + days + " days exceeds the maximum of " + maxDays);
         }
+    }
 
-        return maxRooms - bookedRooms;
+    private List<DayScheduleDto> computeRange(LocalDate start, LocalDate end, @Nullable String maybeGameId, LocalDateTime now)
+    {
+        final Occupancy occupancy = loadOccupancy(start, end, maybeGameId);
+        return occupancy == null ? null : render(start, end, occupancy.template(), now, occupancy.taken());
     }
 
-    /** One pass over bookings → map key "YYYY-MM-DD|HH:mm" -> rooms taken */
-    private Map<String, Integer> preloadRoomsTaken(
-            LocalDate start, LocalDate end, @Nullable String maybeGameId)
+    /**
+     * Rooms taken per (day, slot) of the range: from the index when it covers the range, else one SQL aggregate.
+     * With a game each slot shows the fullest slot of the game's span, and slots whose span runs past closing
+     * show as full.
+     */
+    private Occupancy loadOccupancy(LocalDate start, LocalDate end, @Nullable String maybeGameId)
     {
-        final Instant now = Instant.now();
-        final Instant holdCutoff = now.minus(HOLD_WINDOW);
+        SlotOccupancyIndex.Snapshot snapshot = occupancyIndex.snapshot(start, end);
+        if (snapshot == null)
+        {
+            final SlotTemplate template = slotTemplates.current();
+            if (template == null)
+            {
+                // TODO: Error
+                return null;
+            }
+            snapshot = loadSnapshot(start, end, template,
+                    maybeGameId != null && template.capacity() <= RoomCompatibility.MAX_ROOMS);
+        }
 
-        // ----- If rooms are generic -----
-        List<BookingRepository.BookingFlatRow> rows = bookingRepository.findFlatForRange(start, end);
+        final SlotTemplate template = snapshot.template();
+        final int span = spanFor(maybeGameId, template);
+        final int dayCount = snapshot.taken().length;
+        final int[][] taken = new int[dayCount][];
+        final int[][] headsets = new int[dayCount][];
+        final long[][] used = snapshot.usedRooms() == null ? null : new long[dayCount][];
+        for (int d = 0; d < dayCount; d++)
+        {
+            taken[d] = SlotSpans.max(snapshot.taken()[d], span);
+            headsets[d] = SlotSpans.max(snapshot.headsetsTaken()[d], span);
+            if (used != null)
+            {
+                used[d] = SlotSpans.or(snapshot.usedRooms()[d], span);
+            }
+        }
 
-        Map<String, Integer> map = new HashMap<>();
-        for (var r : rows)
+        final int roomLimit = template.roomLimit();
+        final int headsetCapacity = template.headsetCapacity();
+        final TakenLookup generic = withHeadsets(
+                (dayIdx, slotIdx) -> slotIdx < taken[dayIdx].length ? taken[dayIdx][slotIdx] : roomLimit,
+                (dayIdx, slotIdx) -> slotIdx < headsets[dayIdx].length ? headsets[dayIdx][slotIdx] : headsetCapacity,
+                template);
+        return new Occupancy(template, used == null || maybeGameId == null
+                ? generic
+                : forGame(generic, (dayIdx, slotIdx) -> slotIdx < used[dayIdx].length ? used[dayIdx][slotIdx] : -1L,
+                        template, maybeGameId));
+    }
+
+    /** Slots a booking of {@code gameId} occupies; 1 without a game or for games without a duration. */
+    private int spanFor(@Nullable String gameId, SlotTemplate template)
+    {
+        if (gameId == null)
+        {
+            return 1;
+        }
+        return gameRepository.findById(gameId)
+                .map(Game::getDuration)
+                .map(template::spanOf)
+                .orElse(1);
+    }
+
+    /**
+     * Rooms view of {@code rooms} capped by the free headsets: a running room needs at least one headset,
+     * so a slot never offers more rooms than it has headsets left.
+     */
+    private static TakenLookup withHeadsets(TakenLookup rooms, TakenLookup headsets, SlotTemplate template)
+    {
+        if (!template.limitsHeadsets())
+        {
+            return rooms;
+        }
+        final int roomLimit = template.roomLimit();
+        final int headsetCapacity = template.headsetCapacity();
+        return (dayIdx, slotIdx) -> {
+            int free = Math.min(roomLimit - rooms.taken(dayIdx, slotIdx), headsetCapacity - headsets.taken(dayIdx, slotIdx));
+            return roomLimit - free;
+        };
+    }
+
+    /**
+     * Game-aware view of {@code taken}: a slot's free rooms are capped by its free compatible rooms,
+     * one popcount per slot.
+     */
+    private TakenLookup forGame(TakenLookup taken, UsedRoomsLookup used, SlotTemplate template, String gameId)
+    {
+        final int roomLimit = template.roomLimit();
+        final long compatible = roomCompatibility.roomsFor(gameId, template.capacity());
+        return (dayIdx, slotIdx) -> {
+            int free = Math.min(roomLimit - taken.taken(dayIdx, slotIdx), Long.bitCount(compatible & ~used.used(dayIdx, slotIdx)));
+            return roomLimit - free;
+        };
+    }
+
+    private int freeRooms(LocalDate date, LocalTime time, int span)
+    {
+        OptionalInt indexed = occupancyIndex.freeRooms(date, time, span);
+        return indexed.isPresent() ? indexed.getAsInt() : getNumberOfFreeRoomsForDate(date, time, span);
+    }
+
+    private int freeHeadsets(LocalDate date, LocalTime time, int span)
+    {
+        OptionalInt indexed = occupancyIndex.freeHeadsets(date, time, span);
+        return indexed.isPresent() ? indexed.getAsInt() : getNumberOfFreeHeadsetsForDate(date, time, span);
+    }
+
+    private int getNumberOfFreeRoomsForDate(LocalDate date, LocalTime time, int span)
+    {
+        SlotTemplate template = requireTemplate();
+        int slot = template.indexOf(time);
+        if (slot < 0 || slot + span > template.slotCount())
         {
-            // Treat PENDING as occupied only if still within hold window
-            if (r.getStatus() == BookingStatus.PENDING && r.getCreatedAt().isBefore(holdCutoff))
+            return 0;
+        }
+
+        SlotOccupancyIndex.Snapshot day = loadSnapshot(date, date, template, false);
+        int freeRooms = template.roomLimit() - SlotSpans.max(day.taken()[0], span)[slot];
+        int freeHeadsets = template.headsetCapacity() - SlotSpans.max(day.headsetsTaken()[0], span)[slot];
+        return Math.min(freeRooms, freeHeadsets);
+    }
+
+    private int getNumberOfFreeHeadsetsForDate(LocalDate date, LocalTime time, int span)
+    {
+        SlotTemplate template = requireTemplate();
+        if (!template.limitsHeadsets())
+        {
+            return Integer.MAX_VALUE;
+        }
+        int slot = template.indexOf(time);
+        if (slot < 0 || slot + span > template.slotCount())
+        {
+            return 0;
+        }
+
+        SlotOccupancyIndex.Snapshot day = loadSnapshot(date, date, template, false);
+        return template.headsetCapacity() - SlotSpans.max(day.headsetsTaken()[0], span)[slot];
+    }
+
+    private SlotTemplate requireTemplate()
+    {
+        SlotTemplate template = slotTemplates.current();
+        if (template == null)
+        {
+            throw new ResourceNotFoundException("Max number of bookings is required");
+        }
+        return template;
+    }
+
+    /**
+     * The index's view of [start, end], built from the DB: one aggregate row per booked
+     * (date, time, duration), spread over the slots each duration overlaps.
+     */
+    private SlotOccupancyIndex.Snapshot loadSnapshot(LocalDate start, LocalDate end, SlotTemplate template,
+            boolean withRooms)
+    {
+        final int dayCount = (int) (end.toEpochDay() - start.toEpochDay() + 1);
+        final int slotCount = template.slotCount();
+        final int[][] taken = new int[dayCount][slotCount];
+        final int[][] headsets = new int[dayCount][slotCount];
+
+        for (var r : bookingRepository.sumOccupiedRoomsForRange(start, end))
+        {
+            int d = (int) (r.getDate().toEpochDay() - start.toEpochDay());
+            int slot = template.indexOf(r.getTime());
+            if (slot < 0)
             {
-                continue; // expired hold → ignore
+                continue; // off the current grid
             }
+            int last = Math.min(slotCount, slot + template.spanOf(r.getDuration()));
+            for (int i = slot; i < last; i++)
+            {
+                taken[d][i] += safeCount(r.getRooms());
+                headsets[d][i] += safeCount(r.getHeadsets());
+            }
+        }
 
-            String key = key(r.getDate(), r.getTime());
-            map.merge(key, safeRooms(r.getRooms()), Integer::sum);
+        long[][] used = null;
+        if (withRooms)
+        {
+            used = new long[dayCount][slotCount];
+            for (var r : bookingRepository.findUsedRoomsForRange(start, end))
+            {
+                int d = (int) (r.getDate().toEpochDay() - start.toEpochDay());
+                int slot = template.indexOf(r.getTime());
+                if (slot < 0)
+                {
+                    continue;
+                }
+                int last = Math.min(slotCount, slot + template.spanOf(r.getDuration()));
+                for (int i = slot; i < last; i++)
+                {
+                    used[d][i] |= RoomCompatibility.bit(r.getRoomNumber());
+                }
+            }
         }
-        return map;
+        return new SlotOccupancyIndex.Snapshot(template, taken, headsets, used);
     }
 
-    private static int safeRooms(Integer n)
+    private static int safeCount(Long n)
     {
-        return n == null ? 0 : Math.max(0, n);
+        return n == null ? 0 : (int) Math.max(0, n);
     }
 
-    private static String key(LocalDate d, LocalTime t)
+    private static int minuteOfDay(LocalTime t)
     {
-        return d + "|" + t.truncatedTo(ChronoUnit.MINUTES).toString(); // "2025-10-29|10:00"
+        return SlotTemplate.minuteOfDay(t);
     }
 
-    private List<String> generateTimes(LocalTime open, LocalTime close, int mins)
+    private List<DayScheduleDto> render(
+            LocalDate start,
+            LocalDate end,
+            SlotTemplate template,
+            LocalDateTime now,
+            TakenLookup taken)
     {
-        List<String> slots = new ArrayList<>();
-        LocalTime t = open;
-        while (t.isBefore(close))
+        final long nowDay = now.toLocalDate().toEpochDay();
+        final long nowNanos = now.toLocalTime().toNanoOfDay();
+        final int dayCount = (int) (end.toEpochDay() - start.toEpochDay() + 1);
+
+        List<DayScheduleDto> days = new ArrayList<>(dayCount);
+        for (int d = 0; d < dayCount; d++)
         {
-            slots.add(t.truncatedTo(ChronoUnit.MINUTES).toString()); // "HH:mm"
-            t = t.plusMinutes(mins);
+            final LocalDate day = start.plusDays(d);
+            final long epochDay = day.toEpochDay();
+
+            List<TimeSlotAvailabilityDto> slots = new ArrayList<>(template.slotCount());
+            for (int i = 0; i < template.slotCount(); i++)
+            {
+                boolean past = isPast(epochDay, template.minuteAt(i), nowDay, nowNanos);
+                slots.add(buildSlot(template.labelAt(i), past, template.roomLimit(), past ? 0 : taken.taken(d, i)));
+            }
+
+            days.add(new DayScheduleDto(day, day.toString(), DAY_NAMES[day.getDayOfWeek().ordinal()], slots));
         }
-        return slots;
+
+        return days;
     }
 
-    private TimeSlotAvailabilityDto buildSlot(
-            LocalDate day,
-            String timeStr,
-            LocalDate today,
-            int maxConcurrent,
-            Map<String, Integer> roomsTaken)
+    private TimeSlotAvailabilityDto buildSlot(String timeStr, boolean past, int maxConcurrent, int booked)
     {
         // Past slots are unavailable
-        if (isPast(day, timeStr, today))
+        if (past)
         {
             return new TimeSlotAvailabilityDto(timeStr, "unavailable", 0, maxConcurrent);
         }
 
-        final int booked = roomsTaken.getOrDefault(day + "|" + timeStr, 0);
         final int available = Math.max(0, maxConcurrent - booked);
 
         String status = available > 0 ? "available" : "booked";
         return new TimeSlotAvailabilityDto(timeStr, status, available, maxConcurrent);
     }
 
-    private boolean isPast(LocalDate day, String timeStr, LocalDate today)
+    private static boolean isPast(long epochDay, int minuteOfDay, long nowDay, long nowNanos)
+    {
+        return epochDay < nowDay
+                || (epochDay == nowDay && minuteOfDay * 60_000_000_000L < nowNanos);
+    }
+
+    private record Occupancy(SlotTemplate template, TakenLookup taken)
+    {
+    }
+
+    private record FlightKey(LocalDate start, LocalDate end, String gameId)
+    {
+    }
+
+    @FunctionalInterface
+    private interface TakenLookup
+    {
+        int taken(int dayIdx, int slotIdx);
+    }
+
+    @FunctionalInterface
+    private interface UsedRoomsLookup
     {
-        final LocalTime time = LocalTime.parse(timeStr); // "HH:mm"
-        final LocalDateTime dt = LocalDateTime.of(day, time);
-        return dt.isBefore(LocalDateTime.now());
+        long used(int dayIdx, int slotIdx);
     }
 }
@@ -0,0 +1,224 @@
+package com.vrroom.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vrroom.dto.Availability.SlotDeltaDto;
+import com.vrroom.event.BookingSlotChangedEvent;
+import com.vrroom.event.SystemConfigChangedEvent;
+import com.vrroom.service.AvailabilityService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Live availability over Server-Sent Events. Subscribers are async requests, so an idle one
+ * holds no servlet thread, only its emitter. Occupancy changes are turned into one compact
+ * delta after commit and queued per subscriber; the committing thread never writes to a socket.
+ * <p>
+ * Every subscriber has a bounded queue drained by at most one virtual thread at a time, so a
+ * slow client only stalls its own drain. A subscriber whose queue overflows is disconnected;
+ * EventSource reconnects and the client refetches.
+ * <p>
+ * Events: {@code slot} with a {@link SlotDeltaDto}, {@code reset} when the slot grid changed
+ * and clients should refetch, plus periodic comment heartbeats.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityStreamHub
+{
+    private final AvailabilityService availabilityService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${availability.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${availability.stream.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${availability.stream.queue-size:64}")
+    private int queueSize;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private ExecutorService sender;
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    public void start()
+    {
+        sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("availability-sse-", 1).factory());
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "availability-sse-heartbeat"));
+        heartbeat.scheduleAtFixedRate(
+                () -> broadcast(Long.MIN_VALUE, () -> SseEmitter.event().comment("ping")), 25, 25, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop()
+    {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(s -> s.emitter().complete());
+        subscribers.clear();
+    }
+
+    public SseEmitter subscribe(LocalDate start, LocalDate end)
+    {
+        if (subscribers.size() >= maxSubscribers)
+        {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many availability subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        Subscriber subscriber = new Subscriber(emitter, start.toEpochDay(), end.toEpochDay(), queueSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        log.debug("Availability subscriber added for {}..{} ({} open)", start, end, subscribers.size());
+        return emitter;
+    }
+
+    public int subscriberCount()
+    {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotChanged(BookingSlotChangedEvent event)
+    {
+        if (subscribers.isEmpty())
+        {
+            return;
+        }
+
+        int available = Math.max(0, availabilityService.getFreeRooms(event.date(), event.time()));
+        String json;
+        try
+        {
+            json = objectMapper.writeValueAsString(new SlotDeltaDto(
+                    event.date(), event.time().truncatedTo(ChronoUnit.MINUTES).toString(), available));
+        }
+        catch (JsonProcessingException e)
+        {
+            log.error("Failed to serialize availability delta", e);
+            return;
+        }
+
+        broadcast(event.date().toEpochDay(), () -> SseEmitter.event().name("slot").data(json));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConfigChanged(SystemConfigChangedEvent event)
+    {
+        broadcast(Long.MIN_VALUE, () -> SseEmitter.event().name("reset").data("{}"));
+    }
+
+    /**
+     * Queues the event for every subscriber whose range covers {@code epochDay} (all of them for Long.MIN_VALUE).
+     * Never blocks: writing is left to each subscriber's drain.
+     */
+    private void broadcast(long epochDay, Supplier<SseEmitter.SseEventBuilder> event)
+    {
+        for (Subscriber s : subscribers)
+        {
+            if (epochDay != Long.MIN_VALUE && (epochDay < s.fromDay() || epochDay > s.toDay()))
+            {
+                continue;
+            }
+            if (!s.pending().offer(event))
+            {
+                overflow(s);
+                continue;
+            }
+            scheduleDrain(s);
+        }
+    }
+
+    private void overflow(Subscriber s)
+    {
+        if (subscribers.remove(s))
+        {
+            log.debug("Availability subscriber fell {} events behind, disconnecting", queueSize);
+            // Completing may wait for a send stuck on the socket, so the drain does it
+            s.dropped().set(true);
+            scheduleDrain(s);
+        }
+    }
+
+    private void scheduleDrain(Subscriber s)
+    {
+        if (s.draining().compareAndSet(false, true))
+        {
+            sender.execute(() -> drain(s));
+        }
+    }
+
+    /** Sends the subscriber's queued events in order; only one drain per subscriber runs at a time. */
+    private void drain(Subscriber s)
+    {
+        do
+        {
+            Supplier<SseEmitter.SseEventBuilder> event;
+            while (!s.dropped().get() && (event = s.pending().poll()) != null)
+            {
+                try
+                {
+                    // A builder can only be built once, hence one per subscriber
+                    s.emitter().send(event.get());
+                }
+                catch (IOException | IllegalStateException e)
+                {
+                    // Client went away; the container completes the async request
+                    subscribers.remove(s);
+                    s.pending().clear();
+                    return;
+                }
+            }
+            if (s.dropped().get())
+            {
+                s.pending().clear();
+                s.emitter().complete();
+                return;
+            }
+            s.draining().set(false);
+        }
+        // An event queued after the last poll finds draining still set and relies on this re-check
+        while ((!s.pending().isEmpty() || s.dropped().get()) && s.draining().compareAndSet(false, true));
+    }
+
+    private static Thread daemon(Runnable r, String name)
+    {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    private record Subscriber(SseEmitter emitter, long fromDay, long toDay,
+            BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> pending, AtomicBoolean draining, AtomicBoolean dropped)
+    {
+        Subscriber(SseEmitter emitter, long fromDay, long toDay, int queueSize)
+        {
+            this(emitter, fromDay, toDay, new ArrayBlockingQueue<>(queueSize), new AtomicBoolean(), new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.vrroom.service.impl;
+
+import com.vrroom.dto.CreateBookingRequest;
+import com.vrroom.model.entity.Game;
+import com.vrroom.model.entity.GiftCard;
+import com.vrroom.model.entity.PricingConfig;
+import com.vrroom.model.entity.Promotion;
+import com.vrroom.model.entity.User;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Everything {@code createBooking} reads, loaded once up front and passed through pricing, validation
+ * and persistence, so the number of queries per booking does not grow with its lines.
+ *
+ * @param user       the booking's user, or null for guest bookings
+ * @param promotions promotions active on the booking date for any of its games, global ones included
+ * @param giftCard   the card behind the discount code, or null without one
+ */
+record BookingContext(
+        CreateBookingRequest request,
+        User user,
+        Map<String, Game> gamesById,
+        PricingConfig pricingConfig,
+        List<Promotion> promotions,
+        GiftCard giftCard)
+{
+    /** The longest game decides how many slots the booking holds; null if no game has a duration. */
+    Integer durationMinutes()
+    {
+        return gamesById.values().stream()
+                .map(Game::getDuration)
+                .filter(Objects::nonNull)
+                .max(Integer::compare)
+                .orElse(null);
+    }
+
+    /** One VR headset per player. */
+    int headsets()
+    {
+        return request.getGames().stream()
+                .mapToInt(g -> g.getPlayerCount() == null ? 0 : g.getPlayerCount())
+                .sum();
+    }
+}
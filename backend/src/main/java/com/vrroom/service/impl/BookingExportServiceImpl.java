@@ -0,0 +1,261 @@
+package com.vrroom.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vrroom.service.BookingExportService;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams bookings with plain JDBC: nothing enters the persistence context. The PostgreSQL driver only
+ * fetches in batches of {@code fetch-size} rows when autocommit is off, hence the read-only transaction
+ * around the query; without it the whole result set would be buffered by the driver.
+ */
+@Service
+@Slf4j
+public class BookingExportServiceImpl implements BookingExportService
+{
+    // Games of a booking are folded into one column by a correlated subquery, which keeps the outer
+    // scan in (date, time) order and lets rows flow out as they are read
+    private static final String EXPORT_SQL = """
+            select b.id, b.booking_date, b.booking_time, b.status, b.payment_method,
+                   b.customer_first_name, b.customer_last_name, b.customer_email, b.customer_phone,
+                   b.rooms_count, b.headsets_count, b.total_price, gc.code as gift_card_code, b.created_at,
+                   (select string_agg(g.name || ' x' || bg.player_count, '; ' order by bg.room_number, g.name)
+                      from booking_game bg
+                      join game g on g.id = bg.game_id
+                     where bg.booking_id = b.id) as games
+              from booking b
+              left join gift_card gc on gc.id = b.gift_card_id
+             where b.booking_date between ? and ?
+             order by b.booking_date, b.booking_time, b.id
+            """;
+
+    private static final String[] COLUMNS = {
+            "id", "bookingDate", "bookingTime", "status", "paymentMethod",
+            "customerFirstName", "customerLastName", "customerEmail", "customerPhone",
+            "roomsCount", "headsetsCount", "totalPrice", "giftCardCode", "createdAt", "games"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${booking.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public BookingExportServiceImpl(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public long exportBookings(LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException
+    {
+        long started = System.nanoTime();
+        RowWriter writer = format == Format.CSV ? new CsvWriter(out) : new NdjsonWriter(out);
+        long[] rows = new long[1];
+        try
+        {
+            writer.begin();
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setDate(1, Date.valueOf(from));
+                ps.setDate(2, Date.valueOf(to));
+                return ps;
+            }, rs -> {
+                try
+                {
+                    writer.row(rs);
+                    rows[0]++;
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            writer.end();
+        }
+        catch (UncheckedIOException e)
+        {
+            // Usually the client went away; the cursor and transaction are already closed
+            throw e.getCause();
+        }
+
+        log.info("Exported {} bookings {}..{} as {} in {} ms", rows[0], from, to, format,
+                (System.nanoTime() - started) / 1_000_000);
+        return rows[0];
+    }
+
+    private interface RowWriter
+    {
+        void begin() throws IOException;
+
+        void row(ResultSet rs) throws SQLException, IOException;
+
+        void end() throws IOException;
+    }
+
+    /** RFC 4180 CSV with a header line. */
+    private static final class CsvWriter implements RowWriter
+    {
+        private final Writer out;
+
+        CsvWriter(OutputStream out)
+        {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void begin() throws IOException
+        {
+            out.write(String.join(",", COLUMNS));
+            out.write("\r\n");
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException
+        {
+            for (int i = 1; i <= COLUMNS.length; i++)
+            {
+                if (i > 1)
+                {
+                    out.write(',');
+                }
+                Object value = rs.getObject(i);
+                if (value != null)
+                {
+                    out.write(escape(value instanceof String s ? guardFormula(s) : format(value)));
+                }
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void end() throws IOException
+        {
+            out.flush();
+        }
+
+        private static String escape(String value)
+        {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+            {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        // Spreadsheets evaluate cells starting with these; phone numbers like +389... stay as they are
+        private static String guardFormula(String value)
+        {
+            if (value.isEmpty())
+            {
+                return value;
+            }
+            char first = value.charAt(0);
+            boolean signed = (first == '+' || first == '-')
+                    && (value.length() == 1 || !Character.isDigit(value.charAt(1)));
+            return first == '=' || first == '@' || first == '\t' || first == '\r' || signed ? "'" + value : value;
+        }
+    }
+
+    /** One JSON object per line, written field by field. */
+    private final class NdjsonWriter implements RowWriter
+    {
+        private final OutputStream target;
+        private JsonGenerator json;
+
+        NdjsonWriter(OutputStream target)
+        {
+            this.target = target;
+        }
+
+        @Override
+        public void begin() throws IOException
+        {
+            // The servlet container owns the stream
+            json = objectMapper.getFactory().createGenerator(target)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException
+        {
+            json.writeStartObject();
+            for (int i = 1; i <= COLUMNS.length; i++)
+            {
+                Object value = rs.getObject(i);
+                json.writeFieldName(COLUMNS[i - 1]);
+                if (value == null)
+                {
+                    json.writeNull();
+                }
+                else if (value instanceof BigDecimal d)
+                {
+                    json.writeNumber(d);
+                }
+                else if (value instanceof Integer n)
+                {
+                    json.writeNumber(n);
+                }
+                else
+                {
+                    json.writeString(value instanceof String s ? s : format(value));
+                }
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void end() throws IOException
+        {
+            json.flush();
+        }
+    }
+
+    /** ISO-8601 for temporal columns, toString otherwise. */
+    private static String format(Object value)
+    {
+        if (value instanceof Date d)
+        {
+            return d.toLocalDate().toString();
+        }
+        if (value instanceof Time t)
+        {
+            return t.toLocalTime().toString();
+        }
+        if (value instanceof Timestamp ts)
+        {
+            return ts.toLocalDateTime().toString();
+        }
+        return value.toString();
+    }
+}
@@ -1,21 +1,32 @@
 package com.vrroom.service.impl;
 
 import com.vrroom.dto.BookingDTO;
+import com.vrroom.dto.BookingFilter;
+import com.vrroom.dto.BookingPageDTO;
 import com.vrroom.dto.BookingGameDTO;
 import com.vrroom.dto.CreateBookingRequest;
+import com.vrroom.event.BookingSlotChangedEvent;
 import com.vrroom.exception.InsufficientCapacityException;
+import com.vrroom.exception.InvalidDateRangeException;
+import com.vrroom.exception.InvalidSlotException;
 import com.vrroom.exception.ResourceNotFoundException;
 import com.vrroom.model.entity.Booking;
 import com.vrroom.model.entity.BookingGame;
 import com.vrroom.model.entity.Game;
+import com.vrroom.model.entity.GiftCard;
+import com.vrroom.model.entity.PricingConfig;
+import com.vrroom.model.entity.Promotion;
 import com.vrroom.model.entity.User;
 import com.vrroom.model.enums.BookingStatus;
 import com.vrroom.model.enums.GiftCardStatus;
 import com.vrroom.model.enums.PaymentMethod;
 import com.vrroom.repository.BookingGameRepository;
+import com.vrroom.repository.BookingPageRepository;
 import com.vrroom.repository.BookingRepository;
 import com.vrroom.repository.GameRepository;
 import com.vrroom.repository.GiftCardRepository;
+import com.vrroom.repository.PricingConfigRepository;
+import com.vrroom.repository.PromotionRepository;
 import com.vrroom.repository.UserRepository;
 import com.vrroom.service.AvailabilityService;
 import com.vrroom.service.BookingService;
@@ -23,14 +34,27 @@ import com.vrroom.service.EmailService;
 import com.vrroom.service.GiftCardService;
 import com.vrroom.service.PaymentService;
 import com.vrroom.service.PricingService;
+import com.vrroom.service.SlotInventoryService;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 @RequiredArgsConstructor
@@ -45,44 +69,45 @@ public class BookingServiceImpl implements BookingService
     private final GiftCardService giftCardService;
     private final PricingService pricingService;
     private final GiftCardRepository giftCardRepository;
-    private final BookingGameRepository bookingGameRepository;
+    private final PricingConfigRepository pricingConfigRepository;
+    private final PromotionRepository promotionRepository;
     private final PaymentService paymentService;
     private final AvailabilityService availabilityService;
+    private final SlotOccupancyIndex occupancyIndex;
+    private final SlotTemplateRegistry slotTemplates;
+    private final SlotInventoryService slotInventoryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingGameRepository bookingGameRepository;
 
-    @Override
-    public List<BookingDTO> getAllBookings()
-    {
-        log.debug("Fetching all bookings");
-        return bookingRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
-    }
+    // Bookings per line query on the read path; keeps the IN list well below the driver's bind limit
+    private static final int LINE_BATCH_SIZE = 1000;
 
     @Override
-    public List<BookingDTO> getBookingsByUserId(String userId)
+    public List<BookingDTO> getBookingsByDate(LocalDate date)
     {
-        log.debug("Fetching bookings for user: {}", userId);
-        return bookingRepository.findByUserId(userId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        log.debug("Fetching bookings for date: {}", date);
+        return mapToDTOs(bookingRepository.findByBookingDate(date));
     }
 
     @Override
-    public List<BookingDTO> getBookingsByStatus(BookingStatus status)
+    public BookingPageDTO getBookingsPage(BookingFilter filter, String cursor, int size, boolean descending,
+            boolean withTotal)
     {
-        log.debug("Fetching bookings by status: {}", status);
-        return bookingRepository.findByStatus(status).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
-    }
+        if (filter.getDateFrom() != null && filter.getDateTo() != null && filter.getDateTo().isBefore(filter.getDateFrom()))
+        {
+            throw new InvalidDateRangeException("dateTo must not be before dateFrom");
+        }
 
-    @Override
-    public List<BookingDTO> getBookingsByDate(LocalDate date)
-    {
-        log.debug("Fetching bookings for date: {}", date);
-        return bookingRepository.findByBookingDate(date).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        // One extra row tells whether there is a next page without a count
+        List<Booking> rows = bookingRepository.findPage(filter, decodeCursor(cursor), descending, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<Booking> page = hasNext ? rows.subList(0, size) : rows;
+
+        return BookingPageDTO.builder()
+                .items(mapToDTOs(page))
+                .nextCursor(hasNext ? encodeCursor(page.get(page.size() - 1)) : null)
+                .approximateTotal(withTotal ? bookingRepository.estimateMatching(filter) : null)
+                .build();
     }
 
     @Override
@@ -91,7 +116,7 @@ public class BookingServiceImpl implements BookingService
         log.debug("Fetching booking by id: {}", id);
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
-        return mapToDTO(booking);
+        return mapToDTOs(List.of(booking)).get(0);
     }
 
     public BookingDTO getBookingByIdForUser(String id, User user)
@@ -107,7 +132,7 @@ public class BookingServiceImpl implements BookingService
             throw new org.springframework.security.access.AccessDeniedException("Access denied");
         }
 
-        return mapToDTO(booking);
+        return mapToDTOs(List.of(booking)).get(0);
     }
 
     @Override
@@ -116,39 +141,58 @@ public class BookingServiceImpl implements BookingService
     {
         log.info("Creating booking for user: {}", request.getCustomerEmail());
 
-        BigDecimal subtotal = pricingService.calculateTotalPriceForBooking(request);
-        BigDecimal discount = BigDecimal.ZERO;
-        if (request.getDiscountCode() != null && !request.getDiscountCode().isBlank())
+        SlotTemplate slotTemplate = slotTemplates.current();
+        if (slotTemplate == null || !slotTemplate.isSlotStart(request.getBookingTime()))
         {
-            discount = giftCardService.peekDiscount(request.getDiscountCode());
+            throw new InvalidSlotException("Booking time " + request.getBookingTime() + " is not a valid slot start");
         }
+
+        BookingContext ctx = loadContext(request, userId);
+
+        BigDecimal subtotal = pricingService.calculateTotalPriceForBooking(request, ctx.gamesById(),
+                ctx.pricingConfig(), ctx.promotions());
+        BigDecimal discount = ctx.giftCard() != null ? giftCardService.peekDiscount(ctx.giftCard()) : BigDecimal.ZERO;
         BigDecimal total = subtotal.subtract(discount);
         if (total.signum() < 0)
         {
             total = BigDecimal.ZERO;
         }
 
-        if (!availabilityService.isSlotAvailable(request.getBookingDate(), request.getBookingTime(), request.getNumberOfRooms()))
+        Integer durationMinutes = ctx.durationMinutes();
+        if (!slotTemplate.spanFits(request.getBookingTime(), slotTemplate.spanOf(durationMinutes)))
         {
-            throw new InsufficientCapacityException("Not enough rooms available for the selected time slot");
+            throw new InvalidSlotException("A " + durationMinutes + " minute booking at " + request.getBookingTime()
+                    + " runs past closing time");
         }
 
-        var lockStatuses = List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
-        // TODO: Check this, its suspicious
-        bookingGameRepository.lockGamesForSlot(request.getBookingDate(), request.getBookingTime(), lockStatuses);
+        // Lines with the same client room number share a room; lines without one get a room each.
+        // The physical rooms themselves are allocated by the inventory, never taken from the client,
+        // and the room count comes from these groups rather than the request's numberOfRooms.
+        Map<Object, Integer> groupOf = new HashMap<>();
+        List<Set<String>> gameIdsPerRoom = new ArrayList<>();
+        int[] lineGroup = new int[request.getGames().size()];
+        for (int i = 0; i < lineGroup.length; i++)
+        {
+            var line = request.getGames().get(i);
+            Object key = line.getRoomNumber() != null ? line.getRoomNumber() : "line-" + i;
+            lineGroup[i] = groupOf.computeIfAbsent(key, k -> {
+                gameIdsPerRoom.add(new HashSet<>());
+                return gameIdsPerRoom.size() - 1;
+            });
+            gameIdsPerRoom.get(lineGroup[i]).add(line.getGameId());
+        }
 
-        User user = null;
-        boolean authenticated = userId != null && !userId.isBlank();
-        if (authenticated)
+        int headsets = ctx.headsets();
+        if (!availabilityService.isSlotAvailable(request.getBookingDate(), request.getBookingTime(),
+                gameIdsPerRoom.size(), headsets, durationMinutes))
         {
-            user = userRepository.findById(userId)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+            throw new InsufficientCapacityException("Not enough rooms available for the selected time slot");
         }
         // TODO: Add email to subscription
 
         // 5) Build Booking (status HOLD/PENDING_PAYMENT)
         Booking booking = Booking.builder()
-                .user(user)
+                .user(ctx.user())
                 .bookingDate(request.getBookingDate())
                 .bookingTime(request.getBookingTime())
                 .status(BookingStatus.PENDING)
@@ -160,36 +204,33 @@ public class BookingServiceImpl implements BookingService
                 .totalPrice(total)
                 .build();
 
-        // Attach games (validate existence, players range is enforced in PricingService; still OK to double-check)
-        var gameIds = request.getGames().stream().map(CreateBookingRequest.BookingGameRequest::getGameId).toList();
-        var gamesById = gameRepository.findAllById(gameIds).stream()
-                .collect(Collectors.toMap(Game::getId, g -> g));
-        if (gamesById.size() != gameIds.size())
-        {
-            throw new ResourceNotFoundException("One or more games not found.");
-        }
+        // Authoritative capacity check and room allocation, under the slot's inventory row lock
+        int[] rooms = slotInventoryService.reserve(request.getBookingDate(), request.getBookingTime(), gameIdsPerRoom,
+                headsets, durationMinutes);
 
-        for (var line : request.getGames())
+        // Attach games (players range is enforced in PricingService)
+        for (int i = 0; i < lineGroup.length; i++)
         {
-            Game game = gamesById.get(line.getGameId());
+            var line = request.getGames().get(i);
             var bg = BookingGame.builder()
-                    .game(game)
-                    .roomNumber(line.getRoomNumber())
+                    .game(ctx.gamesById().get(line.getGameId()))
+                    .roomNumber(rooms[lineGroup[i]])
                     .playerCount(line.getPlayerCount())
                     .build();
             booking.addBookingGame(bg);
         }
 
         // 6) Hold the gift card (no redeem yet)
-        if (request.getDiscountCode() != null && !request.getDiscountCode().isBlank())
+        if (ctx.giftCard() != null)
         {
-            giftCardService.holdGiftCard(request.getDiscountCode());
-            booking.setGiftCard(giftCardRepository.findByCode(request.getDiscountCode())
-                    .orElseThrow(() -> new ResourceNotFoundException("Gift card not found")));
+            giftCardService.holdGiftCard(ctx.giftCard());
+            booking.setGiftCard(ctx.giftCard());
         }
 
         // 7) Persist
         Booking saved = bookingRepository.save(booking);
+        occupancyIndex.trackAfterCommit(saved);
+        publishSlotChanged(saved);
         log.info("Booking created with id {}", saved.getId());
 
         BookingDTO bookingDTO = mapToDTO(saved);
@@ -200,7 +241,7 @@ public class BookingServiceImpl implements BookingService
             // TODO: booking instead of bookingDTO
             // paymentUrl = paymentService.createCheckoutSession(bookingDTO);
             bookingDTO.setPaymentUrl("https://www.youtube.com");
-            // TODO: Schedule timeout job to release hold if unpaid (e.g., 15 min)
+            // Unpaid holds are cancelled by HoldReaper once the hold window passes
         }
 
         // emailService.sendBookingConfirmation(bookingDTO);
@@ -225,7 +266,11 @@ public class BookingServiceImpl implements BookingService
         }
 
         b.setStatus(BookingStatus.CONFIRMED);
-        return mapToDTO(bookingRepository.save(b));
+        slotInventoryService.onStatusChange(b, BookingStatus.PENDING);
+        Booking saved = bookingRepository.save(b);
+        occupancyIndex.trackAfterCommit(saved);
+        publishSlotChanged(saved);
+        return mapToDTOs(List.of(saved)).get(0);
     }
 
     @Transactional
@@ -243,8 +288,11 @@ public class BookingServiceImpl implements BookingService
             giftCardService.releaseGiftCard(b.getGiftCard().getCode());
             b.setGiftCard(null);
         }
+        BookingStatus previousStatus = b.getStatus();
         b.setStatus(BookingStatus.CANCELLED);
-        bookingRepository.save(b);
+        slotInventoryService.onStatusChange(b, previousStatus);
+        occupancyIndex.trackAfterCommit(bookingRepository.save(b));
+        publishSlotChanged(b);
     }
 
     @Transactional
@@ -270,8 +318,11 @@ public class BookingServiceImpl implements BookingService
             giftCardService.releaseGiftCard(booking.getGiftCard().getCode());
             booking.setGiftCard(null);
         }
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED);
-        bookingRepository.save(booking);
+        slotInventoryService.onStatusChange(booking, previousStatus);
+        occupancyIndex.trackAfterCommit(bookingRepository.save(booking));
+        publishSlotChanged(booking);
     }
 
     @Override
@@ -282,12 +333,123 @@ public class BookingServiceImpl implements BookingService
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
 
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(status);
+        slotInventoryService.onStatusChange(booking, previousStatus);
         Booking updatedBooking = bookingRepository.save(booking);
+        occupancyIndex.trackAfterCommit(updatedBooking);
+        publishSlotChanged(updatedBooking);
         log.info("Booking status updated successfully");
-        return mapToDTO(updatedBooking);
+        return mapToDTOs(List.of(updatedBooking)).get(0);
+    }
+
+    private static String encodeCursor(Booking last)
+    {
+        String key = last.getBookingDate() + "|" + last.getBookingTime() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
     }
 
+    private static BookingPageRepository.PageKey decodeCursor(String cursor)
+    {
+        if (cursor == null || cursor.isBlank())
+        {
+            return null;
+        }
+        try
+        {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+            return new BookingPageRepository.PageKey(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), parts[2]);
+        }
+        catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e)
+        {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    /** One query per aggregate, whatever the number of lines. */
+    private BookingContext loadContext(CreateBookingRequest request, String userId)
+    {
+        List<String> gameIds = request.getGames().stream()
+                .map(CreateBookingRequest.BookingGameRequest::getGameId)
+                .distinct()
+                .toList();
+        Map<String, Game> gamesById = gameRepository.findAllById(gameIds).stream()
+                .collect(Collectors.toMap(Game::getId, g -> g));
+        // Several lines may book the same game
+        if (gamesById.size() != gameIds.size())
+        {
+            throw new ResourceNotFoundException("One or more games not found.");
+        }
+
+        PricingConfig pricingConfig = pricingConfigRepository.findActiveConfig()
+                .orElseThrow(() -> new IllegalStateException("Active pricing config not found"));
+        List<Promotion> promotions = promotionRepository.findActiveForGamesOrGlobal(gameIds, request.getBookingDate());
+
+        GiftCard giftCard = null;
+        if (request.getDiscountCode() != null && !request.getDiscountCode().isBlank())
+        {
+            giftCard = giftCardRepository.findByCode(request.getDiscountCode())
+                    .orElseThrow(() -> new ResourceNotFoundException("Gift card not found: " + request.getDiscountCode()));
+        }
+
+        User user = null;
+        if (userId != null && !userId.isBlank())
+        {
+            user = userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        }
+
+        return new BookingContext(request, user, gamesById, pricingConfig, promotions, giftCard);
+    }
+
+    /** One event per slot the booking spans; listeners (availability cache etc.) run after commit. */
+    private void publishSlotChanged(Booking booking)
+    {
+        SlotTemplate template = slotTemplates.current();
+        if (template == null)
+        {
+            eventPublisher.publishEvent(new BookingSlotChangedEvent(booking.getBookingDate(), booking.getBookingTime()));
+            return;
+        }
+        int span = template.spanOf(booking.getDurationMinutes());
+        for (int i = 0; i < span; i++)
+        {
+            eventPublisher.publishEvent(new BookingSlotChangedEvent(booking.getBookingDate(),
+                    booking.getBookingTime().plusMinutes((long) i * template.slotMinutes())));
+        }
+    }
+
+    /**
+     * Read path: lines and game names of all bookings come from one projection query per
+     * {@link #LINE_BATCH_SIZE} bookings instead of walking the lazy associations of each booking.
+     */
+    private List<BookingDTO> mapToDTOs(List<Booking> bookings)
+    {
+        Map<String, List<BookingGameDTO>> linesByBooking = new HashMap<>();
+        for (int from = 0; from < bookings.size(); from += LINE_BATCH_SIZE)
+        {
+            List<String> ids = bookings.subList(from, Math.min(from + LINE_BATCH_SIZE, bookings.size())).stream()
+                    .map(Booking::getId)
+                    .toList();
+            for (var row : bookingGameRepository.findLinesByBookingIdIn(ids))
+            {
+                linesByBooking.computeIfAbsent(row.getBookingId(), k -> new ArrayList<>())
+                        .add(BookingGameDTO.builder()
+                                .id(row.getId())
+                                .gameId(row.getGameId())
+                                .gameName(row.getGameName())
+                                .roomNumber(row.getRoomNumber())
+                                .playerCount(row.getPlayerCount())
+                                .build());
+            }
+        }
+
+        return bookings.stream()
+                .map(b -> mapToDTO(b, linesByBooking.getOrDefault(b.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    /** For a booking just built in this transaction: its lines and games are already loaded. */
     private BookingDTO mapToDTO(Booking booking)
     {
         List<BookingGameDTO> bookingGameDTOs = booking.getBookingGames().stream()
@@ -299,7 +461,11 @@ public class BookingServiceImpl implements BookingService
                         .playerCount(bg.getPlayerCount())
                         .build())
                 .collect(Collectors.toList());
+        return mapToDTO(booking, bookingGameDTOs);
+    }
 
+    private BookingDTO mapToDTO(Booking booking, List<BookingGameDTO> bookingGameDTOs)
+    {
         String userId = (booking.getUser() != null) ? booking.getUser().getId() : null;
 
         return BookingDTO.builder()
@@ -307,6 +473,7 @@ public class BookingServiceImpl implements BookingService
                 .userId(userId)
                 .bookingDate(booking.getBookingDate())
                 .bookingTime(booking.getBookingTime())
+                .numberOfRooms(booking.getRoomsCount())
                 .totalPrice(booking.getTotalPrice())
                 .status(booking.getStatus())
                 .paymentMethod(booking.getPaymentMethod())
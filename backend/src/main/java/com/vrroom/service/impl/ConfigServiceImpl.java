@@ -2,27 +2,23 @@ package com.vrroom.service.impl;
 
 import com.vrroom.model.entity.Holiday;
 import com.vrroom.model.entity.PricingConfig;
-import com.vrroom.model.entity.PricingTier;
-import com.vrroom.model.entity.Promotion; // NEW
 import com.vrroom.model.entity.SystemConfig;
 import com.vrroom.dto.HolidayDTO;
 import com.vrroom.dto.PricingConfigDTO;
 import com.vrroom.dto.PricingTierDTO;
 import com.vrroom.dto.SystemConfigDTO;
+import com.vrroom.event.SystemConfigChangedEvent;
 import com.vrroom.exception.ResourceNotFoundException;
 import com.vrroom.repository.HolidayRepository;
 import com.vrroom.repository.PricingConfigRepository;
-import com.vrroom.repository.PromotionRepository; // NEW
 import com.vrroom.repository.SystemConfigRepository;
 import com.vrroom.service.ConfigService;
-import jakarta.annotation.PostConstruct;
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,76 +31,7 @@ public class ConfigServiceImpl implements ConfigService
     private final SystemConfigRepository systemConfigRepository;
     private final PricingConfigRepository pricingConfigRepository;
     private final HolidayRepository holidayRepository;
-    private final PromotionRepository promotionRepository; // NEW
-
-    @PostConstruct
-    @Transactional
-    public void initializeDefaultConfig()
-    {
-        long systemConfigCount = systemConfigRepository.count();
-        if (systemConfigCount == 0)
-        {
-            SystemConfig systemConfig = SystemConfig.builder()
-                    .maxConcurrentBookings(2)
-                    .openingTime(LocalTime.of(12, 0))
-                    .closingTime(LocalTime.of(22, 0))
-                    .slotDurationMinutes(60)
-                    .taxPercentage(BigDecimal.valueOf(18.00))
-                    .build();
-            systemConfigRepository.save(systemConfig);
-        }
-
-        long pricingConfigCount = pricingConfigRepository.count();
-        if (pricingConfigCount == 0)
-        {
-            PricingConfig pricingConfig = PricingConfig.builder()
-                    .active(true)
-                    .build();
-
-            pricingConfig = pricingConfigRepository.save(pricingConfig);
-
-            List<PricingTier> tiers = List.of(
-                    PricingTier.builder().pricingConfig(pricingConfig).minPlayers(2).maxPlayers(2).pricePerPlayer(BigDecimal.valueOf(1000))
-                            .build(),
-                    PricingTier.builder().pricingConfig(pricingConfig).minPlayers(3).maxPlayers(3).pricePerPlayer(BigDecimal.valueOf(950))
-                            .build(),
-                    PricingTier.builder().pricingConfig(pricingConfig).minPlayers(4).maxPlayers(5).pricePerPlayer(BigDecimal.valueOf(900))
-                            .build(),
-                    PricingTier.builder().pricingConfig(pricingConfig).minPlayers(6).maxPlayers(6).pricePerPlayer(BigDecimal.valueOf(850))
-                            .build());
-            pricingConfig.setTiers(tiers);
-            pricingConfigRepository.save(pricingConfig);
-        }
-
-        long holidayCount = holidayRepository.count();
-        if (holidayCount == 0)
-        {
-            log.info("Creating default holidays...");
-            List<Holiday> defaultHolidays = List.of(
-                    Holiday.builder().name("New Year's Day").date(LocalDate.of(2025, 1, 1)).active(true).build(),
-                    Holiday.builder().name("Christmas Day").date(LocalDate.of(2024, 12, 25)).active(true).build(),
-                    Holiday.builder().name("Independence Day").date(LocalDate.of(2025, 9, 8)).active(true).build());
-            holidayRepository.saveAll(defaultHolidays);
-            log.info("Default holidays created");
-        }
-
-        // NEW: create default promotion if none exists
-        long promoCount = promotionRepository.count();
-        if (promoCount == 0)
-        {
-            log.info("Creating default promotion: 50% off all games 20–30 November 2025");
-            Promotion novPromo = Promotion.builder()
-                    .name("November 50% Off")
-                    .description("50% discount on all games from 20th to 30th November 2025")
-                    .discount(BigDecimal.valueOf(0.50)) // 50% off
-                    .validFrom(LocalDate.of(2025, 11, 20))
-                    .validTo(LocalDate.of(2025, 11, 30))
-                    .game(null) // null => applies to ALL games
-                    .active(true)
-                    .build();
-            promotionRepository.save(novPromo);
-        }
-    }
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public SystemConfigDTO getSystemConfig()
@@ -118,6 +45,8 @@ public class ConfigServiceImpl implements ConfigService
         return SystemConfigDTO.builder()
                 .id(systemConfig.getId())
                 .maxConcurrentBookings(systemConfig.getMaxConcurrentBookings())
+                .maxHeadsets(systemConfig.getMaxHeadsets())
+                .maxStaff(systemConfig.getMaxStaff())
                 .openingTime(systemConfig.getOpeningTime())
                 .closingTime(systemConfig.getClosingTime())
                 .slotDurationMinutes(systemConfig.getSlotDurationMinutes())
@@ -127,6 +56,46 @@ public class ConfigServiceImpl implements ConfigService
                 .build();
     }
 
+    @Override
+    @Transactional
+    public SystemConfigDTO updateSystemConfig(SystemConfigDTO systemConfigDTO)
+    {
+        log.info("Updating system configuration");
+        SystemConfig systemConfig = systemConfigRepository.findLatestConfig()
+                .orElseThrow(() -> new ResourceNotFoundException("System configuration not found"));
+
+        if (!systemConfigDTO.getOpeningTime().isBefore(systemConfigDTO.getClosingTime()))
+        {
+            throw new IllegalArgumentException("openingTime must be before closingTime");
+        }
+        if (systemConfigDTO.getSlotDurationMinutes() <= 0 || systemConfigDTO.getMaxConcurrentBookings() <= 0)
+        {
+            throw new IllegalArgumentException("slotDurationMinutes and maxConcurrentBookings must be positive");
+        }
+        if ((systemConfigDTO.getMaxHeadsets() != null && systemConfigDTO.getMaxHeadsets() <= 0)
+                || (systemConfigDTO.getMaxStaff() != null && systemConfigDTO.getMaxStaff() <= 0))
+        {
+            throw new IllegalArgumentException("maxHeadsets and maxStaff must be positive when set");
+        }
+
+        systemConfig.setMaxConcurrentBookings(systemConfigDTO.getMaxConcurrentBookings());
+        systemConfig.setMaxHeadsets(systemConfigDTO.getMaxHeadsets());
+        systemConfig.setMaxStaff(systemConfigDTO.getMaxStaff());
+        systemConfig.setOpeningTime(systemConfigDTO.getOpeningTime());
+        systemConfig.setClosingTime(systemConfigDTO.getClosingTime());
+        systemConfig.setSlotDurationMinutes(systemConfigDTO.getSlotDurationMinutes());
+        if (systemConfigDTO.getTaxPercentage() != null)
+        {
+            systemConfig.setTaxPercentage(systemConfigDTO.getTaxPercentage());
+        }
+
+        SystemConfig updated = systemConfigRepository.save(systemConfig);
+        // Availability cache and occupancy index rebuild after commit
+        eventPublisher.publishEvent(new SystemConfigChangedEvent(updated.getId()));
+        log.info("System configuration updated");
+        return getSystemConfig();
+    }
+
     @Override
     public PricingConfigDTO getActivePricingConfig()
     {
@@ -0,0 +1,265 @@
+package com.vrroom.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vrroom.dto.GameDTO;
+import com.vrroom.event.SystemConfigChangedEvent;
+import com.vrroom.model.entity.Game;
+import com.vrroom.model.entity.GiftCard;
+import com.vrroom.model.entity.Holiday;
+import com.vrroom.model.entity.PricingConfig;
+import com.vrroom.model.entity.PricingTier;
+import com.vrroom.model.entity.Promotion;
+import com.vrroom.model.entity.SystemConfig;
+import com.vrroom.model.entity.User;
+import com.vrroom.model.enums.GiftCardStatus;
+import com.vrroom.repository.GameRepository;
+import com.vrroom.repository.GiftCardRepository;
+import com.vrroom.repository.HolidayRepository;
+import com.vrroom.repository.PricingConfigRepository;
+import com.vrroom.repository.PromotionRepository;
+import com.vrroom.repository.SystemConfigRepository;
+import com.vrroom.repository.UserRepository;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Development and demo data: default games, system and pricing config, holidays, a promotion, test gift
+ * cards and the two default users. Runs once after startup in a single transaction; each part only
+ * fills an empty table, so restarts are no-ops, and every part is written with one batched saveAll.
+ * <p>
+ * Disabled with {@code app.seed.enabled=false}, which is what production should run with. The schema
+ * itself comes from the Flyway migrations in db/migration.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.seed", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class DataSeeder implements ApplicationRunner
+{
+    private final GameRepository gameRepository;
+    private final SystemConfigRepository systemConfigRepository;
+    private final PricingConfigRepository pricingConfigRepository;
+    private final HolidayRepository holidayRepository;
+    private final PromotionRepository promotionRepository;
+    private final GiftCardRepository giftCardRepository;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args)
+    {
+        long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            timed("games", this::seedGames);
+            timed("system config", this::seedSystemConfig);
+            timed("pricing config", this::seedPricingConfig);
+            timed("holidays", this::seedHolidays);
+            timed("promotions", this::seedPromotions);
+            timed("gift cards", this::seedGiftCards);
+            timed("users", this::seedUsers);
+        });
+        log.info("Seeding finished in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void timed(String part, Supplier<Integer> seeder)
+    {
+        long started = System.nanoTime();
+        int created = seeder.get();
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        if (created > 0)
+        {
+            log.info("Seeded {} {} in {} ms", created, part, millis);
+        }
+        else
+        {
+            log.debug("No {} to seed ({} ms)", part, millis);
+        }
+    }
+
+    private int seedGames()
+    {
+        if (gameRepository.count() > 0)
+        {
+            return 0;
+        }
+
+        List<GameDTO> defaultGames;
+        try (InputStream in = new ClassPathResource("data/default-games.json").getInputStream())
+        {
+            defaultGames = objectMapper.readValue(in, new TypeReference<List<GameDTO>>()
+            {
+            });
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Failed to read default games", e);
+        }
+
+        List<Game> games = defaultGames.stream()
+                .map(dto -> Game.builder()
+                        .name(dto.getName())
+                        .code(dto.getCode())
+                        .description(dto.getDescription())
+                        .duration(dto.getDuration())
+                        .minPlayers(dto.getMinPlayers())
+                        .maxPlayers(dto.getMaxPlayers())
+                        .difficulty(dto.getDifficulty())
+                        .imageUrl(dto.getImageUrl())
+                        .active(true)
+                        .build())
+                .toList();
+        gameRepository.saveAll(games);
+        return games.size();
+    }
+
+    private int seedSystemConfig()
+    {
+        if (systemConfigRepository.count() > 0)
+        {
+            return 0;
+        }
+
+        SystemConfig systemConfig = systemConfigRepository.save(SystemConfig.builder()
+                .maxConcurrentBookings(2)
+                .openingTime(LocalTime.of(12, 0))
+                .closingTime(LocalTime.of(22, 0))
+                .slotDurationMinutes(60)
+                .taxPercentage(BigDecimal.valueOf(18.00))
+                .build());
+        // Slot template, occupancy index and caches pick the new config up after commit
+        eventPublisher.publishEvent(new SystemConfigChangedEvent(systemConfig.getId()));
+        return 1;
+    }
+
+    private int seedPricingConfig()
+    {
+        if (pricingConfigRepository.count() > 0)
+        {
+            return 0;
+        }
+
+        PricingConfig pricingConfig = PricingConfig.builder()
+                .active(true)
+                .build();
+        pricingConfig.getTiers().addAll(List.of(
+                PricingTier.builder().pricingConfig(pricingConfig).minPlayers(2).maxPlayers(2).pricePerPlayer(BigDecimal.valueOf(1000))
+                        .build(),
+                PricingTier.builder().pricingConfig(pricingConfig).minPlayers(3).maxPlayers(3).pricePerPlayer(BigDecimal.valueOf(950))
+                        .build(),
+                PricingTier.builder().pricingConfig(pricingConfig).minPlayers(4).maxPlayers(5).pricePerPlayer(BigDecimal.valueOf(900))
+                        .build(),
+                PricingTier.builder().pricingConfig(pricingConfig).minPlayers(6).maxPlayers(6).pricePerPlayer(BigDecimal.valueOf(850))
+                        .build()));
+        // Tiers cascade from the config in the same flush
+        pricingConfigRepository.save(pricingConfig);
+        return 1;
+    }
+
+    private int seedHolidays()
+    {
+        if (holidayRepository.count() > 0)
+        {
+            return 0;
+        }
+
+        List<Holiday> holidays = List.of(
+                Holiday.builder().name("New Year's Day").date(LocalDate.of(2025, 1, 1)).active(true).build(),
+                Holiday.builder().name("Christmas Day").date(LocalDate.of(2024, 12, 25)).active(true).build(),
+                Holiday.builder().name("Independence Day").date(LocalDate.of(2025, 9, 8)).active(true).build());
+        holidayRepository.saveAll(holidays);
+        return holidays.size();
+    }
+
+    private int seedPromotions()
+    {
+        if (promotionRepository.count() > 0)
+        {
+            return 0;
+        }
+
+        promotionRepository.save(Promotion.builder()
+                .name("November 50% Off")
+                .description("50% discount on all games from 20th to 30th November 2025")
+                .discount(BigDecimal.valueOf(0.50)) // 50% off
+                .validFrom(LocalDate.of(2025, 11, 20))
+                .validTo(LocalDate.of(2025, 11, 30))
+                .game(null) // null => applies to ALL games
+                .active(true)
+                .build());
+        return 1;
+    }
+
+    private int seedGiftCards()
+    {
+        if (giftCardRepository.count() > 0)
+        {
+            return 0;
+        }
+
+        List<GiftCard> cards = new ArrayList<>();
+        for (int i = 1; i <= 10; i++)
+        {
+            cards.add(GiftCard.builder()
+                    .code(String.format("TEST-GC-%04d", i)) // TEST-GC-0001 ... TEST-GC-0010
+                    .price(BigDecimal.valueOf(1000))
+                    .status(GiftCardStatus.ACTIVE) // directly ACTIVE so they can be used
+                    .build());
+        }
+        giftCardRepository.saveAll(cards);
+        return cards.size();
+    }
+
+    // BCrypt is the expensive part of seeding; it only runs when the user table is empty
+    private int seedUsers()
+    {
+        if (userRepository.count() > 0)
+        {
+            return 0;
+        }
+
+        List<User> users = List.of(
+                User.builder()
+                        .email("admin@vrroom.com")
+                        .firstName("Admin")
+                        .lastName("User")
+                        .password(passwordEncoder.encode("admin123"))
+                        .phone("+389 70 123 456")
+                        .roles(Set.of("ADMIN", "USER"))
+                        .active(true)
+                        .build(),
+                User.builder()
+                        .email("user@vrroom.com")
+                        .firstName("Regular")
+                        .lastName("User")
+                        .password(passwordEncoder.encode("user123"))
+                        .phone("+389 70 987 654")
+                        .roles(Set.of("USER"))
+                        .active(true)
+                        .build());
+        userRepository.saveAll(users);
+        log.info("Default users: admin@vrroom.com / admin123, user@vrroom.com / user123");
+        return users.size();
+    }
+}
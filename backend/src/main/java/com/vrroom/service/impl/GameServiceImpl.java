@@ -1,20 +1,16 @@
 package com.vrroom.service.impl;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vrroom.model.entity.Game;
 import com.vrroom.dto.GameDTO;
+import com.vrroom.event.GamesChangedEvent;
 import com.vrroom.exception.ResourceNotFoundException;
 import com.vrroom.repository.GameRepository;
 import com.vrroom.service.GameService;
-import jakarta.annotation.PostConstruct;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,57 +22,7 @@ public class GameServiceImpl implements GameService
 {
 
     private final GameRepository gameRepository;
-    private final ObjectMapper objectMapper;
-
-    @PostConstruct
-    @Transactional
-    public void loadDefaultGames()
-    {
-        long count = gameRepository.count();
-        if (count > 0)
-        {
-            log.info("Games already exist in database. Skipping default game loading. Total games: {}", count);
-            return;
-        }
-
-        log.info("Loading default games from JSON file...");
-        try
-        {
-            ClassPathResource resource = new ClassPathResource("data/default-games.json");
-            InputStream inputStream = resource.getInputStream();
-
-            List<GameDTO> defaultGames = objectMapper.readValue(
-                    inputStream,
-                    new TypeReference<List<GameDTO>>()
-                    {
-                    });
-
-            for (GameDTO gameDTO : defaultGames)
-            {
-                Game game = Game.builder()
-                        .name(gameDTO.getName())
-                        .code(gameDTO.getCode())
-                        .description(gameDTO.getDescription())
-                        .duration(gameDTO.getDuration())
-                        .minPlayers(gameDTO.getMinPlayers())
-                        .maxPlayers(gameDTO.getMaxPlayers())
-                        .difficulty(gameDTO.getDifficulty())
-                        .imageUrl(gameDTO.getImageUrl())
-                        .active(true)
-                        .build();
-
-                gameRepository.save(game);
-                log.info("Loaded game: {}", game.getName());
-            }
-
-            log.info("Successfully loaded {} default games", defaultGames.size());
-        }
-        catch (IOException e)
-        {
-            log.error("Failed to load default games from JSON", e);
-            throw new RuntimeException("Failed to initialize default games", e);
-        }
-    }
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<GameDTO> getAllGames()
@@ -141,6 +87,7 @@ public class GameServiceImpl implements GameService
                 .build();
 
         Game savedGame = gameRepository.save(game);
+        eventPublisher.publishEvent(new GamesChangedEvent(savedGame.getId()));
         log.info("Game created successfully with id: {}", savedGame.getId());
         return mapToDTO(savedGame);
     }
@@ -163,6 +110,8 @@ public class GameServiceImpl implements GameService
         game.setActive(gameDTO.getActive());
 
         Game updatedGame = gameRepository.save(game);
+        // Duration and active flag feed game-aware availability
+        eventPublisher.publishEvent(new GamesChangedEvent(id));
         log.info("Game updated successfully");
         return mapToDTO(updatedGame);
     }
@@ -177,6 +126,7 @@ public class GameServiceImpl implements GameService
             throw new ResourceNotFoundException("Game not found with id: " + id);
         }
         gameRepository.deleteById(id);
+        eventPublisher.publishEvent(new GamesChangedEvent(id));
         log.info("Game deleted successfully");
     }
 
@@ -189,6 +139,7 @@ public class GameServiceImpl implements GameService
                 .orElseThrow(() -> new ResourceNotFoundException("Game not found with id: " + id));
         game.setActive(false);
         gameRepository.save(game);
+        eventPublisher.publishEvent(new GamesChangedEvent(id));
         log.info("Game deactivated successfully");
     }
 
@@ -0,0 +1,105 @@
+package com.vrroom.service.impl;
+
+import com.vrroom.event.BookingSlotChangedEvent;
+import com.vrroom.repository.BookingRepository;
+import com.vrroom.repository.SlotInventoryRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Cancels ONLINE bookings whose checkout was abandoned: every run cancels the PENDING ones older than the
+ * hold window in batches, one set-based statement per batch that also releases their held gift cards.
+ * The touched days of slot_inventory are recounted in the same transaction; after commit the bookings
+ * leave the occupancy index and a slot event goes out per freed slot.
+ * <p>
+ * IN_PERSON bookings are PENDING until an admin confirms them and are left alone.
+ * With holds reaped here, every read path counts PENDING bookings as they are.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HoldReaper
+{
+    private final BookingRepository bookingRepository;
+    private final SlotInventoryRepository slotInventoryRepository;
+    private final SlotOccupancyIndex occupancyIndex;
+    private final SlotTemplateRegistry slotTemplates;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.hold.window-minutes:15}")
+    private long holdWindowMinutes;
+
+    @Value("${booking.hold.reaper-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${booking.hold.reaper-interval-ms:30000}",
+            initialDelayString = "${booking.hold.reaper-interval-ms:30000}")
+    public void reap()
+    {
+        final LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMinutes(holdWindowMinutes));
+        int total = 0;
+        List<BookingRepository.BookingSpanRow> reaped;
+        do
+        {
+            reaped = transactionTemplate.execute(status -> reapBatch(cutoff));
+            if (reaped == null || reaped.isEmpty())
+            {
+                break;
+            }
+            afterCommit(reaped);
+            total += reaped.size();
+        }
+        while (reaped.size() == batchSize);
+
+        if (total > 0)
+        {
+            log.info("Cancelled {} expired PENDING holds", total);
+        }
+    }
+
+    private List<BookingRepository.BookingSpanRow> reapBatch(LocalDateTime cutoff)
+    {
+        List<String> ids = bookingRepository.cancelExpiredHolds(cutoff, batchSize, LocalDateTime.now());
+        if (ids.isEmpty())
+        {
+            return List.of();
+        }
+
+        List<BookingRepository.BookingSpanRow> spans = bookingRepository.findSpansByIdIn(ids);
+        Set<LocalDate> days = new HashSet<>();
+        spans.forEach(s -> days.add(s.getDate()));
+        // Lock in slot order first, as reservations do; an unordered UPDATE could deadlock with them
+        slotInventoryRepository.lockDays(days);
+        slotInventoryRepository.resyncDays(days);
+        return spans;
+    }
+
+    private void afterCommit(List<BookingRepository.BookingSpanRow> reaped)
+    {
+        occupancyIndex.untrack(reaped.stream().map(BookingRepository.BookingSpanRow::getId).toList());
+
+        SlotTemplate template = slotTemplates.current();
+        Set<BookingSlotChangedEvent> events = new LinkedHashSet<>();
+        for (var r : reaped)
+        {
+            List<LocalTime> times = template == null ? List.of(r.getTime()) : template.spanTimes(r.getTime(), r.getDuration());
+            times.forEach(t -> events.add(new BookingSlotChangedEvent(r.getDate(), t)));
+        }
+        // No transaction here, so the listeners run right away
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
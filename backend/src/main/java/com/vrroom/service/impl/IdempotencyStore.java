@@ -0,0 +1,180 @@
+package com.vrroom.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Results of non-idempotent requests keyed by the client's Idempotency-Key, scoped per caller, in the
+ * idempotency_key table so every instance sees them and they survive restarts.
+ * The first request for a key runs the action; a replay within the TTL gets the stored result back
+ * without running it again. The key row is inserted in the action's transaction, so a duplicate that
+ * arrives while the first is still running blocks on that row (up to wait-seconds, then 409) and sees
+ * the committed result. Failures roll the row back, so a retry after an error runs the action again.
+ * <p>
+ * A key reused with a different request body is rejected rather than replayed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyStore
+{
+    private static final String CLAIM_SQL = """
+            insert into idempotency_key (scope, idem_key, fingerprint, created_at, expires_at)
+            values (?, ?, ?, now(), now() + cast(? as integer) * interval '1 minute')
+            on conflict (scope, idem_key) do update
+                set fingerprint = excluded.fingerprint,
+                    response = null,
+                    created_at = excluded.created_at,
+                    expires_at = excluded.expires_at
+              where idempotency_key.expires_at < now()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${booking.idempotency.ttl-minutes:60}")
+    private int ttlMinutes;
+
+    @Value("${booking.idempotency.wait-seconds:30}")
+    private long waitSeconds;
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder replays = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder mismatches = new LongAdder();
+
+    public record Result<T>(T value, boolean replayed)
+    {
+    }
+
+    /** Scope for callers without an account: their customer email, hashed so the table holds no addresses. */
+    public static String guestScope(String customerEmail)
+    {
+        String email = customerEmail == null ? "" : customerEmail.trim().toLowerCase(Locale.ROOT);
+        return "guest:" + sha256(email.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Runs {@code action} once per {@code (scope, key)} and stores its result as JSON. {@code request}
+     * identifies the call; replays whose request serializes differently get a 422.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public <T> Result<T> execute(String scope, String key, Object request, Class<T> type, Callable<T> action)
+            throws Exception
+    {
+        String fingerprint = sha256(objectMapper.writeValueAsBytes(request));
+
+        while (!claim(scope, key, fingerprint))
+        {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "select fingerprint, response from idempotency_key where scope = ? and idem_key = ?", scope, key);
+            // The row is committed, so it holds a result; it can only be missing if it was purged meanwhile
+            if (!rows.isEmpty())
+            {
+                if (!fingerprint.equals(rows.get(0).get("fingerprint")))
+                {
+                    mismatches.increment();
+                    log.warn("Idempotency-Key {} reused with a different request", key);
+                    throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                            "Idempotency-Key was already used with a different request");
+                }
+                replays.increment();
+                return new Result<>(objectMapper.readValue((String) rows.get(0).get("response"), type), true);
+            }
+        }
+
+        executions.increment();
+        T value = action.call();
+        jdbcTemplate.update("update idempotency_key set response = ? where scope = ? and idem_key = ?",
+                toJson(value), scope, key);
+        return new Result<>(value, false);
+    }
+
+    /**
+     * Inserts the key row, or takes over an expired one. A row another transaction is still writing is waited
+     * for, at most {@code waitSeconds}. Returns false when a live row for the key is already committed.
+     */
+    private boolean claim(String scope, String key, String fingerprint)
+    {
+        String lockTimeout = jdbcTemplate.queryForObject("select current_setting('lock_timeout')", String.class);
+        jdbcTemplate.queryForObject("select set_config('lock_timeout', ?, true)", String.class, waitSeconds + "s");
+        boolean claimed;
+        try
+        {
+            claimed = jdbcTemplate.update(CLAIM_SQL, scope, key, fingerprint, ttlMinutes) == 1;
+        }
+        catch (PessimisticLockingFailureException e)
+        {
+            // The transaction is aborted now; rolling it back also drops the local lock_timeout
+            timeouts.increment();
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is still in progress");
+        }
+        // The booking itself runs with the usual lock timeout
+        jdbcTemplate.queryForObject("select set_config('lock_timeout', ?, true)", String.class, lockTimeout);
+        return claimed;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.idempotency.purge-interval-ms:60000}")
+    public void purgeExpired()
+    {
+        int purged = jdbcTemplate.update("delete from idempotency_key where expires_at < now()");
+        if (purged > 0)
+        {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    public Map<String, Object> stats()
+    {
+        return Map.of(
+                "ttlMinutes", ttlMinutes,
+                "executions", executions.sum(),
+                "replays", replays.sum(),
+                "timeouts", timeouts.sum(),
+                "mismatches", mismatches.sum());
+    }
+
+    private String toJson(Object value)
+    {
+        try
+        {
+            return objectMapper.writeValueAsString(value);
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalStateException("Idempotent result is not serializable", e);
+        }
+    }
+
+    private static String sha256(byte[] bytes)
+    {
+        try
+        {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
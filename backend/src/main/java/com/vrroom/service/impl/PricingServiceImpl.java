@@ -3,17 +3,20 @@ package com.vrroom.service.impl;
 import com.vrroom.model.entity.Game;
 import com.vrroom.model.entity.PricingConfig;
 import com.vrroom.model.entity.PricingTier;
+import com.vrroom.model.entity.Promotion;
 import com.vrroom.dto.CreateBookingRequest;
 import com.vrroom.dto.PricingPreviewDTO;
 import com.vrroom.dto.PromotionDTO;
 import com.vrroom.exception.ResourceNotFoundException;
 import com.vrroom.repository.GameRepository;
 import com.vrroom.repository.PricingConfigRepository;
+import com.vrroom.repository.PromotionRepository;
 import com.vrroom.service.PricingService;
 import com.vrroom.service.PromotionService;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,21 +36,28 @@ public class PricingServiceImpl implements PricingService
     private final GameRepository gameRepository;
     private final PricingConfigRepository pricingConfigRepository;
     private final PromotionService promotionService;
+    private final PromotionRepository promotionRepository;
 
     @Override
     @Transactional
     public BigDecimal calculateTotalPriceForBooking(CreateBookingRequest req)
     {
-        final PricingConfig cfg = getActiveConfig();
-        final LocalDate bookingDate = req.getBookingDate();
-
-        Map<String, Game> gamesById = gameRepository.findAllById(
-                req.getGames().stream()
-                        .map(CreateBookingRequest.BookingGameRequest::getGameId)
-                        .toList())
-                .stream()
+        List<String> gameIds = req.getGames().stream()
+                .map(CreateBookingRequest.BookingGameRequest::getGameId)
+                .distinct()
+                .toList();
+
+        Map<String, Game> gamesById = gameRepository.findAllById(gameIds).stream()
                 .collect(Collectors.toMap(Game::getId, g -> g));
 
+        return calculateTotalPriceForBooking(req, gamesById, getActiveConfig(),
+                promotionRepository.findActiveForGamesOrGlobal(gameIds, req.getBookingDate()));
+    }
+
+    @Override
+    public BigDecimal calculateTotalPriceForBooking(CreateBookingRequest req, Map<String, Game> gamesById,
+            PricingConfig cfg, List<Promotion> promotions)
+    {
         BigDecimal subtotal = BigDecimal.ZERO;
 
         for (CreateBookingRequest.BookingGameRequest lineReq : req.getGames())
@@ -55,7 +65,7 @@ public class PricingServiceImpl implements PricingService
             Game game = Optional.ofNullable(gamesById.get(lineReq.getGameId()))
                     .orElseThrow(() -> new ResourceNotFoundException("Game not found: " + lineReq.getGameId()));
 
-            BigDecimal lineTotal = calculateTotalPriceForBooking(lineReq, game, cfg, bookingDate);
+            BigDecimal lineTotal = calculateTotalPriceForBooking(lineReq, game, cfg, promotions);
             subtotal = subtotal.add(lineTotal);
         }
 
@@ -107,7 +117,7 @@ public class PricingServiceImpl implements PricingService
     private BigDecimal calculateTotalPriceForBooking(CreateBookingRequest.BookingGameRequest lineReq,
             Game game,
             PricingConfig cfg,
-            LocalDate bookingDate)
+            List<Promotion> promotions)
     {
         int players = lineReq.getPlayerCount();
         if (players < game.getMinPlayers() || players > game.getMaxPlayers())
@@ -120,9 +130,13 @@ public class PricingServiceImpl implements PricingService
         BigDecimal pricePerPlayer = findTierPrice(cfg.getTiers(), players);
         BigDecimal baseLineTotal = pricePerPlayer.multiply(BigDecimal.valueOf(players));
 
-        // 2) Promotion discount for this game and date (0.0 – 1.0)
-        double promoDiscountFraction = promotionService.resolveDiscountForGameAndDate(game.getId(), bookingDate);
-        BigDecimal promoDiscount = BigDecimal.valueOf(promoDiscountFraction);
+        // 2) Best promotion for this game on the booking date (0.0 – 1.0); promotions are already date-filtered
+        BigDecimal promoDiscount = promotions.stream()
+                .filter(p -> p.getDiscount() != null)
+                .filter(p -> p.getGame() == null || p.getGame().getId().equals(game.getId()))
+                .map(Promotion::getDiscount)
+                .max(Comparator.naturalOrder())
+                .orElse(BigDecimal.ZERO);
 
         // 3) Apply promo discount (if none, fraction = 0.0 and we just return base price)
         return applyDiscount(baseLineTotal, promoDiscount);
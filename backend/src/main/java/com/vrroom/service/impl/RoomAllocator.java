@@ -0,0 +1,78 @@
+package com.vrroom.service.impl;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Picks physical rooms for a booking out of a slot's free-room bitmask (bit n-1 = room n).
+ * Best fit: the most constrained request is served first, and dedicated (game-restricted) rooms
+ * are preferred over generic ones, so generic rooms stay available for any game.
+ */
+final class RoomAllocator
+{
+    private RoomAllocator()
+    {
+    }
+
+    /**
+     * @param freeRooms     rooms not in use in the slot
+     * @param compatible    per requested room, the rooms that can run all of its games
+     * @param dedicated     rooms restricted to specific games
+     * @return the room number per requested room, or null if some request has no free compatible room
+     */
+    static int[] allocate(long freeRooms, long[] compatible, long dedicated)
+    {
+        final long free = freeRooms;
+        Integer[] order = IntStream.range(0, compatible.length).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.comparingInt(i -> Long.bitCount(compatible[i] & free)));
+
+        int[] rooms = new int[compatible.length];
+        long available = freeRooms;
+        for (int i : order)
+        {
+            long candidates = compatible[i] & available;
+            if (candidates == 0)
+            {
+                return null;
+            }
+            long preferred = candidates & dedicated;
+            long pick = Long.lowestOneBit(preferred != 0 ? preferred : candidates);
+            available &= ~pick;
+            rooms[i] = Long.numberOfTrailingZeros(pick) + 1;
+        }
+        return rooms;
+    }
+
+    /**
+     * Allocation when capacity is past what a room bitmask holds: the lowest {@code count} room numbers in
+     * 1..{@code capacity} not set in {@code used}, or null if fewer are free. Room restrictions don't apply.
+     */
+    static int[] lowestFree(BitSet used, int capacity, int count)
+    {
+        int[] rooms = new int[count];
+        int room = 0;
+        for (int i = 0; i < count; i++)
+        {
+            room = used.nextClearBit(room + 1);
+            if (room > capacity)
+            {
+                return null;
+            }
+            rooms[i] = room;
+        }
+        return rooms;
+    }
+
+    /** Bitmask of the given rooms; rooms past {@link RoomCompatibility#MAX_ROOMS} have no bit and are left out. */
+    static long mask(int[] rooms)
+    {
+        long mask = 0L;
+        for (int room : rooms)
+        {
+            mask |= RoomCompatibility.bit(room);
+        }
+        return mask;
+    }
+}
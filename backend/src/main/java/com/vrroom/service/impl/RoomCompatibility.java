@@ -0,0 +1,104 @@
+package com.vrroom.service.impl;
+
+import com.vrroom.event.RoomsChangedEvent;
+import com.vrroom.model.entity.Room;
+import com.vrroom.repository.RoomRepository;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Which rooms can run which game, as bitmasks over room numbers (bit n-1 = room n, rooms 1..63).
+ * Rooms without restrictions, and room numbers without a {@link Room} row, run every game;
+ * inactive rooms run none.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomCompatibility
+{
+    /** Highest room number a mask can hold. */
+    public static final int MAX_ROOMS = 63;
+
+    private final RoomRepository roomRepository;
+
+    private volatile Masks masks;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRoomsChanged(RoomsChangedEvent event)
+    {
+        masks = load();
+    }
+
+    /** Rooms among 1..{@code capacity} that can run {@code gameId}; all of them when gameId is null. */
+    public long roomsFor(String gameId, int capacity)
+    {
+        long all = allRooms(capacity);
+        if (gameId == null)
+        {
+            return all;
+        }
+        Masks m = masks();
+        return all & (~m.restricted() | m.allowedByGame().getOrDefault(gameId, 0L));
+    }
+
+    /** Rooms restricted to specific games (or inactive); allocation prefers them to keep generic rooms free. */
+    public long dedicatedRooms()
+    {
+        return masks().restricted();
+    }
+
+    public static long allRooms(int capacity)
+    {
+        int n = Math.max(0, Math.min(capacity, MAX_ROOMS));
+        return n == 0 ? 0L : -1L >>> (64 - n);
+    }
+
+    public static long bit(int roomNumber)
+    {
+        return roomNumber >= 1 && roomNumber <= MAX_ROOMS ? 1L << (roomNumber - 1) : 0L;
+    }
+
+    private Masks masks()
+    {
+        Masks m = masks;
+        if (m == null)
+        {
+            m = load();
+            masks = m;
+        }
+        return m;
+    }
+
+    private Masks load()
+    {
+        long restricted = 0L;
+        Map<String, Long> allowed = new HashMap<>();
+        for (Room room : roomRepository.findAllByOrderByRoomNumberAsc())
+        {
+            long bit = bit(room.getRoomNumber());
+            if (!Boolean.TRUE.equals(room.getActive()))
+            {
+                restricted |= bit;
+            }
+            else if (!room.getGameIds().isEmpty())
+            {
+                restricted |= bit;
+                room.getGameIds().forEach(gameId -> allowed.merge(gameId, bit, (a, b) -> a | b));
+            }
+        }
+        log.info("Room compatibility loaded: {} restricted rooms, {} games with dedicated rooms",
+                Long.bitCount(restricted), allowed.size());
+        return new Masks(restricted, Map.copyOf(allowed));
+    }
+
+    private record Masks(long restricted, Map<String, Long> allowedByGame)
+    {
+    }
+}
@@ -0,0 +1,112 @@
+package com.vrroom.service.impl;
+
+import com.vrroom.dto.RoomDTO;
+import com.vrroom.event.RoomsChangedEvent;
+import com.vrroom.exception.ResourceNotFoundException;
+import com.vrroom.model.entity.Room;
+import com.vrroom.repository.GameRepository;
+import com.vrroom.repository.RoomRepository;
+import com.vrroom.service.RoomService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class RoomServiceImpl implements RoomService
+{
+    private final RoomRepository roomRepository;
+    private final GameRepository gameRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public List<RoomDTO> getAllRooms()
+    {
+        return roomRepository.findAllByOrderByRoomNumberAsc().stream().map(this::mapToDTO).toList();
+    }
+
+    @Override
+    @Transactional
+    public RoomDTO createRoom(RoomDTO roomDTO)
+    {
+        if (roomRepository.findByRoomNumber(roomDTO.getRoomNumber()).isPresent())
+        {
+            throw new IllegalStateException("Room " + roomDTO.getRoomNumber() + " already exists");
+        }
+
+        Room room = Room.builder()
+                .roomNumber(roomDTO.getRoomNumber())
+                .name(roomDTO.getName())
+                .active(roomDTO.getActive() == null || roomDTO.getActive())
+                .gameIds(validGameIds(roomDTO.getGameIds()))
+                .build();
+
+        Room saved = roomRepository.save(room);
+        eventPublisher.publishEvent(new RoomsChangedEvent(saved.getId()));
+        log.info("Room {} created", saved.getRoomNumber());
+        return mapToDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public RoomDTO updateRoom(String id, RoomDTO roomDTO)
+    {
+        Room room = roomRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Room not found with id: " + id));
+
+        room.setRoomNumber(roomDTO.getRoomNumber());
+        room.setName(roomDTO.getName());
+        if (roomDTO.getActive() != null)
+        {
+            room.setActive(roomDTO.getActive());
+        }
+        room.setGameIds(validGameIds(roomDTO.getGameIds()));
+
+        Room saved = roomRepository.save(room);
+        eventPublisher.publishEvent(new RoomsChangedEvent(saved.getId()));
+        return mapToDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public void deleteRoom(String id)
+    {
+        if (!roomRepository.existsById(id))
+        {
+            throw new ResourceNotFoundException("Room not found with id: " + id);
+        }
+        roomRepository.deleteById(id);
+        eventPublisher.publishEvent(new RoomsChangedEvent(id));
+    }
+
+    private Set<String> validGameIds(Set<String> gameIds)
+    {
+        if (gameIds == null || gameIds.isEmpty())
+        {
+            return new HashSet<>();
+        }
+        if (gameRepository.findAllById(gameIds).size() != gameIds.size())
+        {
+            throw new ResourceNotFoundException("One or more games not found.");
+        }
+        return new HashSet<>(gameIds);
+    }
+
+    private RoomDTO mapToDTO(Room room)
+    {
+        return RoomDTO.builder()
+                .id(room.getId())
+                .roomNumber(room.getRoomNumber())
+                .name(room.getName())
+                .active(room.getActive())
+                .gameIds(Set.copyOf(room.getGameIds()))
+                .build();
+    }
+}
@@ -0,0 +1,246 @@
+package com.vrroom.service.impl;
+
+import com.vrroom.exception.InsufficientCapacityException;
+import com.vrroom.exception.ResourceNotFoundException;
+import com.vrroom.model.entity.Booking;
+import com.vrroom.model.entity.BookingGame;
+import com.vrroom.model.enums.BookingStatus;
+import com.vrroom.repository.BookingRepository;
+import com.vrroom.repository.SlotInventoryRepository;
+import com.vrroom.service.SlotInventoryService;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps slot_inventory in step with booking writes. A reservation locks only its slot row,
+ * allocates rooms from the row's used-room bitmask and takes them with one UPDATE, so only
+ * bookings for the same slot contend, and only for the duration of the booking transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SlotInventoryServiceImpl implements SlotInventoryService
+{
+    private static final Set<BookingStatus> HOLDING = EnumSet.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+    private final SlotInventoryRepository slotInventoryRepository;
+    private final SlotTemplateRegistry slotTemplates;
+    private final BookingRepository bookingRepository;
+    private final RoomCompatibility roomCompatibility;
+
+    @Override
+    public int[] reserve(LocalDate date, LocalTime time, List<Set<String>> gameIdsPerRoom, int headsets,
+            Integer durationMinutes)
+    {
+        final SlotTemplate template = template();
+        final int capacity = template.capacity();
+        final int rooms = gameIdsPerRoom.size();
+        final List<LocalTime> times = template.spanTimes(time, durationMinutes);
+
+        // Rooms are picked under the span's row locks, so concurrent bookings never get the same room.
+        // Expired holds are cancelled (and recounted away) by HoldReaper, so the counters are taken as they are.
+        var slots = lockSpan(date, times, template);
+        int[] allocated = allocate(date, times, slots, capacity, gameIdsPerRoom);
+        if (allocated == null || !fits(slots, rooms, headsets))
+        {
+            log.debug("Slot {} {} is full", date, time);
+            throw new InsufficientCapacityException("Not enough rooms available for the selected time slot");
+        }
+
+        long mask = RoomAllocator.mask(allocated);
+        for (LocalTime t : times)
+        {
+            // Guarded UPDATE under the row lock; 0 rows means the slot cannot take the booking after all
+            if (slotInventoryRepository.tryReserve(date, t, rooms, headsets, mask) == 0)
+            {
+                log.warn("Slot {} {} rejected a reservation that passed its locked check", date, t);
+                throw new InsufficientCapacityException("Not enough rooms available for the selected time slot");
+            }
+        }
+        return allocated;
+    }
+
+    /** Room limit (rooms capped by staff) and headsets of every locked row have room for the request. */
+    private static boolean fits(List<SlotInventoryRepository.SlotRoomsRow> slots, int rooms, int headsets)
+    {
+        return slots.stream().allMatch(slot -> slot.getTaken() + rooms <= slot.getCapacity()
+                && (slot.getHeadsetsCapacity() == null || slot.getHeadsetsTaken() + headsets <= slot.getHeadsetsCapacity()));
+    }
+
+    /**
+     * Creates and locks the rows of every slot in {@code times}. Rows are always locked in slot order,
+     * so overlapping spans cannot deadlock.
+     */
+    private List<SlotInventoryRepository.SlotRoomsRow> lockSpan(LocalDate date, List<LocalTime> times,
+            SlotTemplate template)
+    {
+        List<SlotInventoryRepository.SlotRoomsRow> slots = new ArrayList<>(times.size());
+        for (LocalTime t : times)
+        {
+            slotInventoryRepository.ensureSlot(date, t, template.roomLimit(),
+                    template.limitsHeadsets() ? template.headsetCapacity() : null);
+            slots.add(slotInventoryRepository.lockSlotRooms(date, t));
+        }
+        return slots;
+    }
+
+    @Override
+    public void onStatusChange(Booking booking, BookingStatus previousStatus)
+    {
+        final boolean held = HOLDING.contains(previousStatus);
+        final boolean holds = HOLDING.contains(booking.getStatus());
+
+        if (held && !holds)
+        {
+            for (LocalTime t : template().spanTimes(booking.getBookingTime(), booking.getDurationMinutes()))
+            {
+                slotInventoryRepository.release(booking.getBookingDate(), t, roomsOf(booking), headsetsOf(booking),
+                        roomMaskOf(booking));
+            }
+        }
+        else if (!held && holds)
+        {
+            reactivate(booking);
+        }
+    }
+
+    /**
+     * Booking goes back to occupying its slots (e.g. CANCELLED → CONFIRMED): move it to other rooms if its
+     * old ones were given away meanwhile, recount the slots with the booking's new status flushed, then
+     * reject if any overflows.
+     */
+    private void reactivate(Booking booking)
+    {
+        final LocalDate date = booking.getBookingDate();
+        final SlotTemplate template = template();
+        final int capacity = template.capacity();
+        final List<LocalTime> times = template.spanTimes(booking.getBookingTime(), booking.getDurationMinutes());
+
+        var slots = lockSpan(date, times, template);
+        if ((roomsUsedOf(slots) & roomMaskOf(booking)) != 0)
+        {
+            reassignRooms(booking, times, slots, capacity);
+        }
+
+        bookingRepository.flush();
+        for (LocalTime t : times)
+        {
+            slotInventoryRepository.resync(date, t);
+            Integer free = slotInventoryRepository.findFreeRooms(date, t);
+            if (free != null && free < 0)
+            {
+                throw new InsufficientCapacityException("Not enough rooms available for the selected time slot");
+            }
+        }
+    }
+
+    private void reassignRooms(Booking booking, List<LocalTime> times, List<SlotInventoryRepository.SlotRoomsRow> slots,
+            int capacity)
+    {
+        // Lines sharing a room keep sharing one
+        Map<Integer, Set<String>> gamesByRoom = new LinkedHashMap<>();
+        for (BookingGame bg : booking.getBookingGames())
+        {
+            gamesByRoom.computeIfAbsent(bg.getRoomNumber(), r -> new HashSet<>()).add(bg.getGame().getId());
+        }
+
+        int[] allocated = allocate(booking.getBookingDate(), times, slots, capacity, new ArrayList<>(gamesByRoom.values()));
+        if (allocated == null)
+        {
+            throw new InsufficientCapacityException("Not enough rooms available for the selected time slot");
+        }
+
+        Map<Integer, Integer> moved = new HashMap<>();
+        int i = 0;
+        for (Integer oldRoom : gamesByRoom.keySet())
+        {
+            moved.put(oldRoom, allocated[i++]);
+        }
+        booking.getBookingGames().forEach(bg -> bg.setRoomNumber(moved.get(bg.getRoomNumber())));
+        log.info("Booking {} moved to rooms {} on reactivation", booking.getId(), moved.values());
+    }
+
+    /** Room numbers free in every slot of the span, or null if some entry has no free compatible room. */
+    private int[] allocate(LocalDate date, List<LocalTime> times, List<SlotInventoryRepository.SlotRoomsRow> slots,
+            int capacity, List<Set<String>> gameIdsPerRoom)
+    {
+        if (capacity > RoomCompatibility.MAX_ROOMS)
+        {
+            // Too many rooms for a bitmask: take the lowest numbers no live booking line in the span is using.
+            // The span's rows are locked, so no other reservation can take them in the meantime.
+            BitSet used = new BitSet(capacity + 1);
+            for (LocalTime t : times)
+            {
+                slotInventoryRepository.findRoomNumbersInUse(date, t).forEach(used::set);
+            }
+            return RoomAllocator.lowestFree(used, capacity, gameIdsPerRoom.size());
+        }
+
+        long[] compatible = new long[gameIdsPerRoom.size()];
+        for (int i = 0; i < compatible.length; i++)
+        {
+            long mask = RoomCompatibility.allRooms(capacity);
+            for (String gameId : gameIdsPerRoom.get(i))
+            {
+                mask &= roomCompatibility.roomsFor(gameId, capacity);
+            }
+            compatible[i] = mask;
+        }
+        long free = RoomCompatibility.allRooms(capacity) & ~roomsUsedOf(slots);
+        return RoomAllocator.allocate(free, compatible, roomCompatibility.dedicatedRooms());
+    }
+
+    private static long roomsUsedOf(List<SlotInventoryRepository.SlotRoomsRow> slots)
+    {
+        long used = 0L;
+        for (var slot : slots)
+        {
+            used |= slot == null || slot.getRoomsUsed() == null ? 0L : slot.getRoomsUsed();
+        }
+        return used;
+    }
+
+    private static long roomMaskOf(Booking booking)
+    {
+        long mask = 0L;
+        for (BookingGame bg : booking.getBookingGames())
+        {
+            mask |= RoomCompatibility.bit(bg.getRoomNumber() == null ? 0 : bg.getRoomNumber());
+        }
+        return mask;
+    }
+
+    private SlotTemplate template()
+    {
+        SlotTemplate template = slotTemplates.current();
+        if (template == null)
+        {
+            throw new ResourceNotFoundException("Max number of bookings is required");
+        }
+        return template;
+    }
+
+    private static int roomsOf(Booking booking)
+    {
+        return booking.getRoomsCount() == null ? 0 : booking.getRoomsCount();
+    }
+
+    private static int headsetsOf(Booking booking)
+    {
+        return booking.getHeadsetsCount() == null ? 0 : booking.getHeadsetsCount();
+    }
+}
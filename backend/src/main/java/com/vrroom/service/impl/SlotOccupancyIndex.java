@@ -0,0 +1,514 @@
+package com.vrroom.service.impl;
+
+import com.vrroom.model.entity.Booking;
+import com.vrroom.event.GamesChangedEvent;
+import com.vrroom.event.RoomsChangedEvent;
+import com.vrroom.event.SystemConfigChangedEvent;
+import com.vrroom.model.enums.BookingStatus;
+import com.vrroom.repository.BookingRepository;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Resident occupancy index: rooms and headsets taken per (epochDay, slotIndex), kept in primitive int arrays
+ * for a rolling horizon starting today. A booking counts on every slot its duration overlaps. Loaded once from the DB and then updated in place by the
+ * booking write paths, so availability reads inside the horizon need no SQL.
+ * <p>
+ * Only live bookings are counted: PENDING and CONFIRMED. Expired holds are cancelled by {@link HoldReaper},
+ * which then {@link #untrack untracks} them.
+ * <p>
+ * Alongside the counts it keeps a bitmask of the room numbers in use per slot, so game-aware
+ * availability is a popcount against {@link RoomCompatibility}.
+ * <p>
+ * Every change stamps its day with the next value of a monotonic inventory version, which
+ * {@link #versionTag} folds into an ETag for a date range.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlotOccupancyIndex
+{
+    private final BookingRepository bookingRepository;
+    private final SlotTemplateRegistry slotTemplates;
+
+    @Value("${availability.index.horizon-days:180}")
+    private int horizonDays;
+
+    // ----- state, guarded by "this" -----
+    private boolean loaded;
+    private long baseEpochDay;
+    private SlotTemplate template;
+    private int slotCount;
+    private int capacity;
+    private int roomLimit;
+    private int headsetCapacity;
+    private int[][] taken = new int[0][0];
+    private int[][] headsetsTaken = new int[0][0];
+    private int[] dayMinTaken = new int[0]; // per-day summary, lets searches skip full days
+    private boolean roomAware; // room masks are kept while capacity fits RoomCompatibility.MAX_ROOMS
+    private long[][] usedRooms = new long[0][0]; // bit n-1 set while room n is in use
+    private short[][][] roomUse = new short[0][0][0]; // bookings per room, clashing room numbers included
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    // ----- inventory versions, guarded by "this" -----
+    private final long instanceStamp = System.currentTimeMillis(); // versions restart with the process
+    private long version;
+    private long loadedVersion;
+    private long outsideVersion; // last change outside the horizon / off the slot grid
+    private long[] dayVersion = new long[0];
+
+    @PostConstruct
+    public void load()
+    {
+        reload();
+    }
+
+    /** Rebuilds the whole index from the DB (startup, day rollover, config change). */
+    public synchronized void reload()
+    {
+        entries.clear();
+        loaded = false;
+
+        SlotTemplate current = slotTemplates.current();
+        if (current == null)
+        {
+            log.warn("No system config yet, occupancy index stays empty (SQL fallback)");
+            return;
+        }
+
+        template = current;
+        slotCount = current.slotCount();
+        capacity = current.capacity();
+        roomLimit = current.roomLimit();
+        headsetCapacity = current.headsetCapacity();
+
+        LocalDate first = LocalDate.now();
+        baseEpochDay = first.toEpochDay();
+        taken = new int[horizonDays + 1][slotCount];
+        headsetsTaken = new int[horizonDays + 1][slotCount];
+        dayMinTaken = new int[horizonDays + 1];
+        roomAware = capacity <= RoomCompatibility.MAX_ROOMS;
+        usedRooms = new long[horizonDays + 1][slotCount];
+        roomUse = roomAware ? new short[horizonDays + 1][slotCount][capacity] : new short[0][0][0];
+        loadedVersion = ++version;
+        outsideVersion = loadedVersion;
+        dayVersion = new long[horizonDays + 1];
+        Arrays.fill(dayVersion, loadedVersion);
+        loaded = true;
+
+        Map<String, Long> roomMasks = new HashMap<>();
+        for (var r : bookingRepository.findRoomNumbersForRange(first, first.plusDays(horizonDays)))
+        {
+            roomMasks.merge(r.getBookingId(), RoomCompatibility.bit(r.getRoomNumber()), (a, b) -> a | b);
+        }
+
+        var rows = bookingRepository.findOccupancyForRange(first, first.plusDays(horizonDays));
+        for (var r : rows)
+        {
+            int rooms = r.getRooms() == null ? 0 : r.getRooms();
+            int headsets = r.getHeadsets() == null ? 0 : r.getHeadsets();
+            track(r.getId(), r.getDate(), r.getTime(), r.getStatus(), rooms, headsets, r.getDuration(),
+                    roomMasks.getOrDefault(r.getId(), 0L));
+        }
+        log.info("Occupancy index loaded: {} days x {} slots, {} live bookings", horizonDays + 1, slotCount, entries.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConfigChanged(SystemConfigChangedEvent event)
+    {
+        reload();
+    }
+
+    /** Room masks stay valid, but game-aware answers change, so every version moves. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRoomsChanged(RoomsChangedEvent event)
+    {
+        loadedVersion = ++version;
+        outsideVersion = loadedVersion;
+    }
+
+    /** Counts stay valid, but a game's duration decides its span in the game-aware view, so every version moves. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onGamesChanged(GamesChangedEvent event)
+    {
+        loadedVersion = ++version;
+        outsideVersion = loadedVersion;
+    }
+
+    /**
+     * Rooms free throughout the {@code span} slots starting at {@code time} (never more than the free headsets),
+     * 0 if the span runs past closing, or empty when the slot is outside the horizon / off the slot grid
+     * and the caller has to ask the DB.
+     */
+    public synchronized OptionalInt freeRooms(LocalDate date, LocalTime time, int span)
+    {
+        ensureCurrent();
+        int slot = template == null ? -1 : template.indexOf(time);
+        if (!loaded || slot < 0 || !inHorizon(date.toEpochDay()))
+        {
+            return OptionalInt.empty();
+        }
+        if (slot + span > slotCount)
+        {
+            return OptionalInt.of(0);
+        }
+        int idx = (int) (date.toEpochDay() - baseEpochDay);
+        return OptionalInt.of(Math.min(roomLimit - spanMax(taken[idx], slot, span),
+                headsetCapacity - spanMax(headsetsTaken[idx], slot, span)));
+    }
+
+    /** Headsets free throughout the span (Integer.MAX_VALUE when unconstrained); otherwise as {@link #freeRooms}. */
+    public synchronized OptionalInt freeHeadsets(LocalDate date, LocalTime time, int span)
+    {
+        ensureCurrent();
+        int slot = template == null ? -1 : template.indexOf(time);
+        if (!loaded || slot < 0 || !inHorizon(date.toEpochDay()))
+        {
+            return OptionalInt.empty();
+        }
+        if (slot + span > slotCount)
+        {
+            return OptionalInt.of(0);
+        }
+        if (headsetCapacity == Integer.MAX_VALUE)
+        {
+            return OptionalInt.of(Integer.MAX_VALUE);
+        }
+        return OptionalInt.of(headsetCapacity - spanMax(headsetsTaken[(int) (date.toEpochDay() - baseEpochDay)], slot, span));
+    }
+
+    private static int spanMax(int[] row, int slot, int span)
+    {
+        int max = 0;
+        for (int i = slot; i < slot + span; i++)
+        {
+            max = Math.max(max, row[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Copy of the taken counters for [start, end], or null if the range reaches past the horizon.
+     * Days before today are returned as empty rows (they are rendered as past anyway).
+     */
+    public synchronized Snapshot snapshot(LocalDate start, LocalDate end)
+    {
+        ensureCurrent();
+        if (!loaded || end.toEpochDay() - baseEpochDay > horizonDays)
+        {
+            return null;
+        }
+
+        int days = (int) (end.toEpochDay() - start.toEpochDay() + 1);
+        int[][] rows = new int[days][];
+        int[][] headsets = new int[days][];
+        long[][] rooms = roomAware ? new long[days][] : null;
+        for (int i = 0; i < days; i++)
+        {
+            long day = start.toEpochDay() + i;
+            rows[i] = day < baseEpochDay ? new int[slotCount] : taken[(int) (day - baseEpochDay)].clone();
+            headsets[i] = day < baseEpochDay ? new int[slotCount] : headsetsTaken[(int) (day - baseEpochDay)].clone();
+            if (rooms != null)
+            {
+                rooms[i] = day < baseEpochDay ? new long[slotCount] : usedRooms[(int) (day - baseEpochDay)].clone();
+            }
+        }
+        return new Snapshot(template, rows, headsets, rooms);
+    }
+
+    /**
+     * First {@code limit} slots from {@code from} on with at least {@code rooms} rooms and {@code headsets}
+     * headsets free for {@code span} consecutive slots, restricted to the days of week in {@code dayMask}
+     * (bit = DayOfWeek.ordinal()) and to slots starting in [{@code fromMinute}, {@code toMinute}).
+     * Days whose emptiest slot is still too full are skipped without looking at their slots; for the others
+     * the span maxima of the whole day come from {@link SlotSpans}. With {@code compatibleRooms} other than -1
+     * only those rooms count as free. Searches the horizon only; null while the index is not loaded.
+     */
+    public synchronized List<FreeSlot> findFree(LocalDate from, int rooms, int headsets, int span, long compatibleRooms,
+            int dayMask, int fromMinute, int toMinute, int limit, LocalDateTime now)
+    {
+        ensureCurrent();
+        if (!loaded)
+        {
+            return null;
+        }
+
+        List<FreeSlot> found = new ArrayList<>(Math.min(limit, 64));
+        if (slotCount == 0 || span > slotCount || rooms > roomLimit || headsets > headsetCapacity)
+        {
+            return found;
+        }
+
+        // Slot window in index space, [firstSlot, lastSlot)
+        int openMinute = template.openMinute();
+        int slotMinutes = template.slotMinutes();
+        int firstSlot = Math.max(0, (fromMinute - openMinute + slotMinutes - 1) / slotMinutes);
+        int lastSlot = Math.min(slotCount - span + 1, Math.max(0, (toMinute - openMinute + slotMinutes - 1) / slotMinutes));
+
+        long today = now.toLocalDate().toEpochDay();
+        int todayElapsed = template.slotsStartedBefore(now.toLocalTime());
+        for (long day = Math.max(from.toEpochDay(), baseEpochDay); day <= baseEpochDay + horizonDays; day++)
+        {
+            int idx = (int) (day - baseEpochDay);
+            // 1970-01-01 was a Thursday (ordinal 3)
+            if ((dayMask & (1 << Math.floorMod(day + 3, 7))) == 0 || roomLimit - dayMinTaken[idx] < rooms)
+            {
+                continue;
+            }
+
+            int[] row = SlotSpans.max(taken[idx], span);
+            int[] headsetRow = SlotSpans.max(headsetsTaken[idx], span);
+            boolean byRoom = roomAware && compatibleRooms != -1L;
+            long[] used = byRoom ? SlotSpans.or(usedRooms[idx], span) : null;
+            for (int slot = day == today ? Math.max(firstSlot, todayElapsed) : firstSlot; slot < lastSlot; slot++)
+            {
+                int freeHeadsets = headsetCapacity - headsetRow[slot];
+                if (freeHeadsets < headsets)
+                {
+                    continue;
+                }
+                // A running room needs at least one headset
+                int free = Math.min(roomLimit - row[slot], freeHeadsets);
+                if (byRoom)
+                {
+                    free = Math.min(free, Long.bitCount(compatibleRooms & ~used[slot]));
+                }
+                if (free >= rooms)
+                {
+                    found.add(new FreeSlot(LocalDate.ofEpochDay(day), template.minuteAt(slot), free));
+                    if (found.size() >= limit)
+                    {
+                        return found;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Opaque version of the occupancy in [start, end]: changes whenever a booking in the range changes,
+     * the config is reloaded, rooms or games change, or (when the range includes today) another slot of today moves into the past.
+     * Null while the index is not loaded.
+     */
+    public synchronized String versionTag(LocalDate start, LocalDate end, LocalDateTime now)
+    {
+        ensureCurrent();
+        if (!loaded)
+        {
+            return null;
+        }
+
+        long v = loadedVersion;
+        if (end.toEpochDay() - baseEpochDay > horizonDays)
+        {
+            v = Math.max(v, outsideVersion);
+        }
+        long from = Math.max(start.toEpochDay(), baseEpochDay);
+        long to = Math.min(end.toEpochDay(), baseEpochDay + horizonDays);
+        for (long d = from; d <= to; d++)
+        {
+            v = Math.max(v, dayVersion[(int) (d - baseEpochDay)]);
+        }
+
+        StringBuilder tag = new StringBuilder()
+                .append(Long.toString(instanceStamp, 36))
+                .append('-')
+                .append(Long.toString(v, 36));
+        long today = now.toLocalDate().toEpochDay();
+        if (start.toEpochDay() <= today && today <= end.toEpochDay())
+        {
+            tag.append('-').append(template.slotsStartedBefore(now.toLocalTime()));
+        }
+        return tag.toString();
+    }
+
+    /**
+     * Re-tracks the booking once the surrounding transaction commits (immediately if there is none).
+     * The booking's state is captured now, the entity is detached by the time the callback runs.
+     */
+    public void trackAfterCommit(Booking booking)
+    {
+        long mask = 0L;
+        for (var bg : booking.getBookingGames())
+        {
+            mask |= RoomCompatibility.bit(bg.getRoomNumber() == null ? 0 : bg.getRoomNumber());
+        }
+        final long roomMask = mask;
+        final String id = booking.getId();
+        final LocalDate date = booking.getBookingDate();
+        final LocalTime time = booking.getBookingTime();
+        final BookingStatus status = booking.getStatus();
+        final int rooms = booking.getRoomsCount() == null ? 0 : booking.getRoomsCount();
+        final int headsets = booking.getHeadsetsCount() == null ? 0 : booking.getHeadsetsCount();
+        final Integer duration = booking.getDurationMinutes();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+            {
+                @Override
+                public void afterCommit()
+                {
+                    track(id, date, time, status, rooms, headsets, duration, roomMask);
+                }
+            });
+        }
+        else
+        {
+            track(id, date, time, status, rooms, headsets, duration, roomMask);
+        }
+    }
+
+    synchronized void track(String id, LocalDate date, LocalTime time, BookingStatus status,
+            int rooms, int headsets, Integer durationMinutes, long roomMask)
+    {
+        Entry previous = entries.remove(id);
+        if (previous != null)
+        {
+            apply(previous, -1);
+        }
+
+        if (!loaded)
+        {
+            return;
+        }
+        int slot = template == null ? -1 : template.indexOf(time);
+        long day = date.toEpochDay();
+        if (slot < 0 || !inHorizon(day))
+        {
+            outsideVersion = ++version;
+            return;
+        }
+
+        if (status != BookingStatus.PENDING && status != BookingStatus.CONFIRMED)
+        {
+            return;
+        }
+
+        int span = Math.min(template.spanOf(durationMinutes), slotCount - slot);
+        Entry entry = new Entry(day, slot, span, rooms, headsets, roomMask);
+        entries.put(id, entry);
+        apply(entry, 1);
+    }
+
+    /**
+     * Drops bookings cancelled outside the entity write paths (reaped holds). Ids the index does not hold
+     * belong to bookings outside the horizon or off the slot grid, so they move the outside version as
+     * {@link #track} does for them.
+     */
+    public synchronized void untrack(Collection<String> ids)
+    {
+        for (String id : ids)
+        {
+            Entry previous = entries.remove(id);
+            if (previous != null)
+            {
+                apply(previous, -1);
+            }
+            else if (loaded)
+            {
+                outsideVersion = ++version;
+            }
+        }
+    }
+
+    private void ensureCurrent()
+    {
+        if (!loaded || LocalDate.now().toEpochDay() != baseEpochDay)
+        {
+            reload();
+        }
+    }
+
+    /** Adds ({@code sign} = 1) or removes (-1) the entry's rooms, headsets and room bits on every slot of its span. */
+    private void apply(Entry e, int sign)
+    {
+        if (!inHorizon(e.epochDay))
+        {
+            return;
+        }
+        int idx = (int) (e.epochDay - baseEpochDay);
+        int[] row = taken[idx];
+        for (int slot = e.slot; slot < e.slot + e.span; slot++)
+        {
+            row[slot] = Math.max(0, row[slot] + sign * e.rooms);
+            headsetsTaken[idx][slot] = Math.max(0, headsetsTaken[idx][slot] + sign * e.headsets);
+
+            if (roomAware)
+            {
+                short[] perRoom = roomUse[idx][slot];
+                for (long bits = e.roomMask; bits != 0; bits &= bits - 1)
+                {
+                    int room = Long.numberOfTrailingZeros(bits);
+                    if (room >= perRoom.length)
+                    {
+                        break;
+                    }
+                    perRoom[room] = (short) Math.max(0, perRoom[room] + sign);
+                    usedRooms[idx][slot] = perRoom[room] > 0
+                            ? usedRooms[idx][slot] | (1L << room)
+                            : usedRooms[idx][slot] & ~(1L << room);
+                }
+            }
+        }
+
+        int min = Integer.MAX_VALUE;
+        for (int t : row)
+        {
+            min = Math.min(min, t);
+        }
+        dayMinTaken[idx] = min;
+        dayVersion[idx] = ++version;
+    }
+
+    private boolean inHorizon(long epochDay)
+    {
+        return epochDay >= baseEpochDay && epochDay - baseEpochDay <= horizonDays;
+    }
+
+    public record FreeSlot(LocalDate date, int minuteOfDay, int freeRooms)
+    {
+    }
+
+    /** {@code usedRooms} is null when capacity exceeds RoomCompatibility.MAX_ROOMS. */
+    public record Snapshot(SlotTemplate template, int[][] taken, int[][] headsetsTaken, long[][] usedRooms)
+    {
+    }
+
+    private static final class Entry
+    {
+        private final long epochDay;
+        private final int slot;
+        private final int span;
+        private final int rooms;
+        private final int headsets;
+        private final long roomMask;
+
+        private Entry(long epochDay, int slot, int span, int rooms, int headsets, long roomMask)
+        {
+            this.epochDay = epochDay;
+            this.slot = slot;
+            this.span = span;
+            this.rooms = rooms;
+            this.headsets = headsets;
+            this.roomMask = roomMask;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.vrroom.service.impl;
+
+/**
+ * Range queries over one day's per-slot counters for bookings spanning several slots.
+ * A window of {@code span} slots is answered by doubling (sparse-table style): windows of length 2^k are
+ * built from two of length 2^(k-1), and any span is covered by two overlapping power-of-two windows,
+ * so a whole day costs O(slots * log span). Max and OR are idempotent, so the overlap does no harm.
+ */
+final class SlotSpans
+{
+    private SlotSpans()
+    {
+    }
+
+    /** {@code result[i]} = max of {@code row[i .. i+span)}; one entry per start slot whose span fits the row. */
+    static int[] max(int[] row, int span)
+    {
+        int n = row.length - span + 1;
+        if (n <= 0)
+        {
+            return new int[0];
+        }
+        if (span <= 1)
+        {
+            return row.clone();
+        }
+
+        int[] level = row.clone();
+        int width = 1;
+        while (width * 2 <= span)
+        {
+            for (int i = 0; i + width < row.length; i++)
+            {
+                level[i] = Math.max(level[i], level[i + width]);
+            }
+            width *= 2;
+        }
+
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++)
+        {
+            result[i] = Math.max(level[i], level[i + span - width]);
+        }
+        return result;
+    }
+
+    /** {@code result[i]} = OR of {@code row[i .. i+span)}, as {@link #max}. */
+    static long[] or(long[] row, int span)
+    {
+        int n = row.length - span + 1;
+        if (n <= 0)
+        {
+            return new long[0];
+        }
+        if (span <= 1)
+        {
+            return row.clone();
+        }
+
+        long[] level = row.clone();
+        int width = 1;
+        while (width * 2 <= span)
+        {
+            for (int i = 0; i + width < row.length; i++)
+            {
+                level[i] |= level[i + width];
+            }
+            width *= 2;
+        }
+
+        long[] result = new long[n];
+        for (int i = 0; i < n; i++)
+        {
+            result[i] = level[i] | level[i + span - width];
+        }
+        return result;
+    }
+}
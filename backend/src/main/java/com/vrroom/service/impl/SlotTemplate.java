@@ -0,0 +1,221 @@
+package com.vrroom.service.impl;
+
+import com.vrroom.model.entity.SystemConfig;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable slot grid of one {@link SystemConfig} version: slot start minutes, their "HH:mm" labels and a
+ * minute-of-day lookup, so mapping a time to its slot (or rejecting it as off-grid) is O(1). Also carries
+ * the per-slot resource pools: rooms (capped by staff, one host per room) and headsets.
+ * Compiled by {@link SlotTemplateRegistry} once per config change and shared by every reader.
+ */
+public final class SlotTemplate
+{
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final long version;
+    private final LocalTime openingTime;
+    private final LocalTime closingTime;
+    private final int slotMinutes;
+    private final int capacity;
+    private final Integer maxStaff;
+    private final Integer maxHeadsets;
+    private final int roomLimit;
+    private final int headsetCapacity;
+    private final int openMinute;
+    private final int[] minutes;
+    private final String[] labels;
+    private final List<String> labelList;
+    private final short[] slotByMinute; // minute of day → slot index, -1 when no slot starts there
+
+    private SlotTemplate(long version, LocalTime openingTime, LocalTime closingTime, int slotMinutes, int capacity,
+            Integer maxStaff, Integer maxHeadsets)
+    {
+        this.version = version;
+        this.openingTime = openingTime;
+        this.closingTime = closingTime;
+        this.slotMinutes = slotMinutes;
+        this.capacity = capacity;
+        this.maxStaff = maxStaff;
+        this.maxHeadsets = maxHeadsets;
+        this.roomLimit = maxStaff == null ? capacity : Math.min(capacity, maxStaff);
+        this.headsetCapacity = maxHeadsets == null ? Integer.MAX_VALUE : maxHeadsets;
+
+        int open = minuteOfDay(openingTime);
+        this.openMinute = open;
+        int close = minuteOfDay(closingTime);
+        int count = slotMinutes > 0 && close > open ? (close - open + slotMinutes - 1) / slotMinutes : 0;
+
+        this.minutes = new int[count];
+        this.labels = new String[count];
+        this.slotByMinute = new short[MINUTES_PER_DAY];
+        Arrays.fill(slotByMinute, (short) -1);
+        for (int i = 0; i < count; i++)
+        {
+            minutes[i] = open + i * slotMinutes;
+            labels[i] = String.format("%02d:%02d", minutes[i] / 60, minutes[i] % 60); // "HH:mm"
+            slotByMinute[minutes[i]] = (short) i;
+        }
+        this.labelList = List.of(labels);
+    }
+
+    static SlotTemplate compile(long version, SystemConfig cfg)
+    {
+        return new SlotTemplate(version, cfg.getOpeningTime(), cfg.getClosingTime(),
+                cfg.getSlotDurationMinutes(), cfg.getMaxConcurrentBookings(), cfg.getMaxStaff(), cfg.getMaxHeadsets());
+    }
+
+    /** True if {@code cfg} would compile to this very template. */
+    boolean matches(SystemConfig cfg)
+    {
+        return openingTime.equals(cfg.getOpeningTime())
+                && closingTime.equals(cfg.getClosingTime())
+                && slotMinutes == cfg.getSlotDurationMinutes()
+                && capacity == cfg.getMaxConcurrentBookings()
+                && Objects.equals(maxStaff, cfg.getMaxStaff())
+                && Objects.equals(maxHeadsets, cfg.getMaxHeadsets());
+    }
+
+    /** Slot index starting exactly at {@code time}, or -1 if no slot starts there. */
+    public int indexOf(LocalTime time)
+    {
+        Objects.requireNonNull(time, "time");
+        if (time.getSecond() != 0 || time.getNano() != 0)
+        {
+            return -1;
+        }
+        return slotByMinute[minuteOfDay(time)];
+    }
+
+    public boolean isSlotStart(LocalTime time)
+    {
+        return indexOf(time) >= 0;
+    }
+
+    /** Slots a booking of {@code durationMinutes} occupies, at least one (also for unknown durations). */
+    public int spanOf(Integer durationMinutes)
+    {
+        if (durationMinutes == null || durationMinutes <= slotMinutes)
+        {
+            return 1;
+        }
+        return (durationMinutes + slotMinutes - 1) / slotMinutes;
+    }
+
+    /**
+     * Start times of the slots a booking of {@code durationMinutes} starting at {@code time} occupies, in order,
+     * cut at closing time. Just {@code time} for an off-grid start.
+     */
+    public List<LocalTime> spanTimes(LocalTime time, Integer durationMinutes)
+    {
+        int slot = indexOf(time);
+        if (slot < 0)
+        {
+            return List.of(time);
+        }
+        int end = Math.min(minutes.length, slot + spanOf(durationMinutes));
+        List<LocalTime> times = new ArrayList<>(end - slot);
+        for (int i = slot; i < end; i++)
+        {
+            times.add(LocalTime.of(minutes[i] / 60, minutes[i] % 60));
+        }
+        return times;
+    }
+
+    /** True if a booking of {@code span} slots starting at {@code time} ends by closing time. */
+    public boolean spanFits(LocalTime time, int span)
+    {
+        int slot = indexOf(time);
+        return slot >= 0 && slot + span <= minutes.length;
+    }
+
+    /** Number of slots whose start is before {@code time} (today's elapsed slots). */
+    public int slotsStartedBefore(LocalTime time)
+    {
+        long offsetNanos = time.toNanoOfDay() - openMinute * 60_000_000_000L;
+        if (offsetNanos <= 0)
+        {
+            return 0;
+        }
+        long slotNanos = slotMinutes * 60_000_000_000L;
+        return (int) Math.min(minutes.length, (offsetNanos + slotNanos - 1) / slotNanos);
+    }
+
+    public long version()
+    {
+        return version;
+    }
+
+    public LocalTime openingTime()
+    {
+        return openingTime;
+    }
+
+    public LocalTime closingTime()
+    {
+        return closingTime;
+    }
+
+    public int slotMinutes()
+    {
+        return slotMinutes;
+    }
+
+    /** Number of rooms (room numbers 1..capacity). */
+    public int capacity()
+    {
+        return capacity;
+    }
+
+    /** Rooms that can run at once: the rooms, capped by the staff pool. */
+    public int roomLimit()
+    {
+        return roomLimit;
+    }
+
+    /** Headset pool size, Integer.MAX_VALUE when headsets are not a constraint. */
+    public int headsetCapacity()
+    {
+        return headsetCapacity;
+    }
+
+    public boolean limitsHeadsets()
+    {
+        return headsetCapacity != Integer.MAX_VALUE;
+    }
+
+    public int openMinute()
+    {
+        return openMinute;
+    }
+
+    public int slotCount()
+    {
+        return minutes.length;
+    }
+
+    public int minuteAt(int slot)
+    {
+        return minutes[slot];
+    }
+
+    public String labelAt(int slot)
+    {
+        return labels[slot];
+    }
+
+    /** All "HH:mm" labels in slot order (immutable). */
+    public List<String> labels()
+    {
+        return labelList;
+    }
+
+    static int minuteOfDay(LocalTime t)
+    {
+        return t.getHour() * 60 + t.getMinute();
+    }
+}
@@ -0,0 +1,59 @@
+package com.vrroom.service.impl;
+
+import com.vrroom.event.SystemConfigChangedEvent;
+import com.vrroom.model.entity.SystemConfig;
+import com.vrroom.repository.SystemConfigRepository;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Holds the current {@link SlotTemplate}. Recompiled when the system config changes, ahead of the
+ * other config listeners, which read the new template.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlotTemplateRegistry
+{
+    private final SystemConfigRepository systemConfigRepository;
+
+    private volatile SlotTemplate current;
+    private long version; // guarded by "this"
+
+    /** Current template, or null while there is no system config. */
+    public SlotTemplate current()
+    {
+        SlotTemplate template = current;
+        return template != null ? template : refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onConfigChanged(SystemConfigChangedEvent event)
+    {
+        refresh();
+    }
+
+    public synchronized SlotTemplate refresh()
+    {
+        Optional<SystemConfig> cfg = systemConfigRepository.findLatestConfig();
+        if (cfg.isEmpty())
+        {
+            return null;
+        }
+        if (current != null && current.matches(cfg.get()))
+        {
+            return current;
+        }
+
+        current = SlotTemplate.compile(++version, cfg.get());
+        log.info("Slot template v{} compiled: {}-{} every {} min, {} slots",
+                current.version(), current.openingTime(), current.closingTime(), current.slotMinutes(), current.slotCount());
+        return current;
+    }
+}
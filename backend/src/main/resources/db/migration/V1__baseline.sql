@@ -0,0 +1,146 @@
+-- Schema as Hibernate generated it under ddl-auto: update from the original entities, before the slot
+-- inventory, room and resource columns existed. Databases created that way are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and only run the migrations after it, so this file must keep
+-- describing that schema: later changes go into new migrations.
+
+create sequence gift_card_seq start with 1 increment by 50;
+
+create table app_user (
+    id         varchar(255) not null,
+    email      varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name  varchar(255) not null,
+    password   varchar(255) not null,
+    phone      varchar(255),
+    active     boolean      not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    primary key (id),
+    constraint uk_app_user_email unique (email)
+);
+
+create table user_roles (
+    user_id varchar(255) not null,
+    role    varchar(255),
+    constraint fk_user_roles_user foreign key (user_id) references app_user (id)
+);
+
+create table game (
+    id          varchar(255)  not null,
+    name        varchar(255)  not null,
+    code        varchar(64)   not null,
+    description varchar(2000),
+    duration    integer       not null,
+    min_players integer       not null,
+    max_players integer       not null,
+    difficulty  integer       not null,
+    image_url   varchar(255),
+    active      boolean       not null,
+    created_at  timestamp(6)  not null,
+    updated_at  timestamp(6),
+    primary key (id),
+    constraint uk_game_code unique (code)
+);
+
+create table gift_card (
+    id         bigint        not null,
+    code       varchar(36)   not null,
+    price      numeric(38, 2) not null,
+    status     varchar(16)   not null check (status in ('INACTIVE', 'ACTIVE', 'HELD', 'REDEEMED', 'EXPIRED')),
+    created_at timestamp(6)  not null,
+    used_at    timestamp(6),
+    primary key (id),
+    constraint uk_gift_card_code unique (code)
+);
+
+create table booking (
+    id                  varchar(255)   not null,
+    user_id             varchar(255),
+    booking_date        date           not null,
+    booking_time        time(6)        not null,
+    total_price         numeric(10, 2) not null,
+    status              varchar(255)   not null check (status in ('PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED')),
+    payment_method      varchar(255)   check (payment_method in ('ONLINE', 'IN_PERSON')),
+    customer_first_name varchar(255)   not null,
+    customer_last_name  varchar(255)   not null,
+    customer_email      varchar(254)   not null,
+    customer_phone      varchar(32),
+    gift_card_id        bigint,
+    created_at          timestamp(6)   not null,
+    updated_at          timestamp(6),
+    version             bigint,
+    primary key (id),
+    constraint uk_booking_gift_card unique (gift_card_id),
+    constraint fk_booking_user foreign key (user_id) references app_user (id),
+    constraint fk_booking_gift_card foreign key (gift_card_id) references gift_card (id)
+);
+
+create table booking_game (
+    id           varchar(255) not null,
+    booking_id   varchar(255) not null,
+    game_id      varchar(255) not null,
+    room_number  integer      not null,
+    player_count integer      not null,
+    primary key (id),
+    constraint fk_booking_game_booking foreign key (booking_id) references booking (id),
+    constraint fk_booking_game_game foreign key (game_id) references game (id)
+);
+
+create table holiday (
+    id         varchar(255) not null,
+    name       varchar(255) not null,
+    date       date         not null,
+    active     boolean      not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table pricing_config (
+    id         varchar(255) not null,
+    active     boolean      not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table pricing_tier (
+    id                varchar(255)   not null,
+    pricing_config_id varchar(255)   not null,
+    min_players       integer        not null,
+    max_players       integer        not null,
+    price_per_player  numeric(10, 2) not null,
+    primary key (id),
+    constraint fk_pricing_tier_config foreign key (pricing_config_id) references pricing_config (id)
+);
+
+create table promotion (
+    id          varchar(255)  not null,
+    name        varchar(255),
+    description varchar(255),
+    discount    numeric(5, 2) not null,
+    valid_from  date          not null,
+    valid_to    date          not null,
+    game_id     varchar(255),
+    active      boolean       not null,
+    created_at  timestamp(6)  not null,
+    updated_at  timestamp(6),
+    primary key (id),
+    constraint fk_promotion_game foreign key (game_id) references game (id)
+);
+
+create table system_config (
+    id                      varchar(255)  not null,
+    max_concurrent_bookings integer       not null,
+    opening_time            time(6)       not null,
+    closing_time            time(6)       not null,
+    slot_duration_minutes   integer       not null,
+    tax_percentage          numeric(5, 2) not null,
+    created_at              timestamp(6)  not null,
+    updated_at              timestamp(6),
+    primary key (id)
+);
+
+-- Indexes the original Booking entity declared
+create index ix_booking_user on booking (user_id);
+create index ix_booking_date_time on booking (booking_date, booking_time);
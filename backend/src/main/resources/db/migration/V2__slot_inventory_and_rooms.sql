@@ -0,0 +1,41 @@
+-- Schema added on top of the original one: rooms and their games, per-slot inventory, the denormalized
+-- booking resource counts and the headset/staff limits. Written with "if not exists" so databases that
+-- already got some of it from ddl-auto: update before Flyway took over migrate cleanly too.
+
+alter table booking add column if not exists rooms_count integer;
+alter table booking add column if not exists headsets_count integer;
+alter table booking add column if not exists duration_minutes integer;
+
+alter table system_config add column if not exists max_headsets integer;
+alter table system_config add column if not exists max_staff integer;
+
+create table if not exists room (
+    id          varchar(255) not null,
+    room_number integer      not null,
+    name        varchar(255),
+    active      boolean      not null,
+    created_at  timestamp(6) not null,
+    updated_at  timestamp(6),
+    primary key (id),
+    constraint uk_room_number unique (room_number)
+);
+
+create table if not exists room_game (
+    room_id varchar(255) not null,
+    game_id varchar(255) not null,
+    primary key (room_id, game_id),
+    constraint fk_room_game_room foreign key (room_id) references room (id)
+);
+
+create table if not exists slot_inventory (
+    id                varchar(255) not null,
+    slot_date         date         not null,
+    slot_time         time(6)      not null,
+    taken             integer      not null,
+    rooms_used        bigint default 0 not null,
+    capacity          integer      not null,
+    headsets_taken    integer default 0 not null,
+    headsets_capacity integer,
+    primary key (id),
+    constraint ux_slot_inventory_slot unique (slot_date, slot_time)
+);
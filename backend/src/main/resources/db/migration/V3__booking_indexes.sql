@@ -0,0 +1,40 @@
+-- Indexes for the hot booking queries. Statements stay idempotent: databases that ran the former
+-- startup index script already have most of them.
+-- Live = status in ('PENDING', 'CONFIRMED'), the predicate every occupancy query uses verbatim.
+
+-- Occupancy index rebuilds, slot sums and slot_inventory resyncs: index-only scans over live bookings
+create index if not exists ix_booking_live_date_time
+    on booking (booking_date, booking_time)
+    include (id, status, rooms_count, headsets_count, duration_minutes)
+    where status in ('PENDING', 'CONFIRMED');
+
+-- Hold reaper: oldest unpaid ONLINE bookings first
+create index if not exists ix_booking_pending_created
+    on booking (created_at)
+    where status = 'PENDING' and payment_method = 'ONLINE';
+
+-- Keyset pages and exports ordered by (booking_date, booking_time, id); supersedes ix_booking_date_time
+create index if not exists ix_booking_date_time_id
+    on booking (booking_date, booking_time, id);
+drop index if exists ix_booking_date_time;
+
+-- Keyset pages filtered by status
+create index if not exists ix_booking_status_date_time_id
+    on booking (status, booking_date, booking_time, id);
+
+-- A user's bookings, paged; also serves the user_id foreign key, so it supersedes ix_booking_user
+create index if not exists ix_booking_user_date_time_id
+    on booking (user_id, booking_date, booking_time, id);
+drop index if exists ix_booking_user;
+
+-- Case-insensitive email prefix filter of the admin listing
+create index if not exists ix_booking_email_prefix
+    on booking (lower(customer_email) text_pattern_ops);
+
+-- Foreign keys of booking_game; the booking side covers the batched line reads of the booking read model
+create index if not exists ix_booking_game_booking
+    on booking_game (booking_id)
+    include (game_id, room_number, player_count);
+create index if not exists ix_booking_game_game
+    on booking_game (game_id);
+
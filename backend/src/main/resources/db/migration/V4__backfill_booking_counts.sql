@@ -0,0 +1,23 @@
+-- Denormalized booking counters for rows written before the columns existed; they used to be
+-- backfilled on every start. New bookings set them in Booking.syncResourceCounts.
+
+update booking b
+   set rooms_count = (select count(distinct bg.room_number) from booking_game bg where bg.booking_id = b.id)
+ where b.rooms_count is null;
+
+update booking b
+   set headsets_count = (select coalesce(sum(bg.player_count), 0) from booking_game bg where bg.booking_id = b.id)
+ where b.headsets_count is null;
+
+-- Bookings whose games have no duration stay null (one slot)
+update booking b
+   set duration_minutes = (select max(g.duration)
+                             from booking_game bg
+                             join game g on g.id = bg.game_id
+                            where bg.booking_id = b.id)
+ where b.duration_minutes is null
+   and exists (select 1
+                 from booking_game bg
+                 join game g on g.id = bg.game_id
+                where bg.booking_id = b.id
+                  and g.duration is not null);
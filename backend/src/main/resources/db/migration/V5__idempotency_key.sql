@@ -0,0 +1,14 @@
+-- Idempotency-Key results of POST /bookings, shared by every instance and kept across restarts.
+-- A row is inserted in the same transaction as the booking it stores, so it only ever commits with a result;
+-- expired rows are purged on a schedule and may be claimed again before that.
+create table if not exists idempotency_key (
+    scope       varchar(255) not null,
+    idem_key    varchar(255) not null,
+    fingerprint varchar(64)  not null,
+    response    text,
+    created_at  timestamp(6) not null,
+    expires_at  timestamp(6) not null,
+    primary key (scope, idem_key)
+);
+
+create index if not exists ix_idempotency_key_expires on idempotency_key (expires_at);
@@ -0,0 +1,21 @@
+package com.vrroom;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * A throwaway PostgreSQL for tests that need the real schema: the datasource points at it and
+ * Flyway migrates it on startup. Shared by every test context that imports it.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class PostgresTestConfig
+{
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgres()
+    {
+        return new PostgreSQLContainer<>("postgres:16-alpine");
+    }
+}
@@ -0,0 +1,93 @@
+package com.vrroom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Boot time of the whole application up to {@link ApplicationReadyEvent}, against a throwaway PostgreSQL:
+ * once on the empty database (schema and demo data), then alternating boots with {@code app.seed.enabled}
+ * on and off on the filled one. Prints the times; it asserts nothing about them.
+ * <p>
+ * Off by default, as it boots the application several times:
+ * {@code mvn -Dtest=StartupTimingTest -Dstartup.timing=true -Dstartup.timing.runs=5 test}.
+ * Only depends on the application class and Testcontainers, so the same file measures older trees too.
+ */
+@EnabledIfSystemProperty(named = "startup.timing", matches = "true")
+class StartupTimingTest
+{
+    private static final int RUNS = Integer.getInteger("startup.timing.runs", 5);
+
+    @Test
+    void bootTimes()
+    {
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine"))
+        {
+            postgres.start();
+
+            // First boot in this JVM, so it also pays class loading and JIT warm-up
+            Duration empty = boot(postgres, true);
+            List<Duration> seeded = new ArrayList<>();
+            List<Duration> unseeded = new ArrayList<>();
+            for (int i = 0; i < RUNS; i++)
+            {
+                seeded.add(boot(postgres, true));
+                unseeded.add(boot(postgres, false));
+            }
+
+            System.out.printf("%nApplicationReadyEvent, %d runs each%n", RUNS);
+            System.out.printf("  %-30s %6d ms%n", "empty database, seeding on", empty.toMillis());
+            System.out.printf("  %-30s %6d ms median %s%n", "filled database, seeding on", median(seeded), millis(seeded));
+            System.out.printf("  %-30s %6d ms median %s%n", "filled database, seeding off", median(unseeded), millis(unseeded));
+        }
+    }
+
+    private static Duration boot(PostgreSQLContainer<?> postgres, boolean seed)
+    {
+        AtomicReference<Duration> ready = new AtomicReference<>();
+        ApplicationListener<ApplicationEvent> listener = event -> {
+            if (event instanceof ApplicationReadyEvent readyEvent)
+            {
+                ready.set(readyEvent.getTimeTaken());
+            }
+        };
+        try (ConfigurableApplicationContext ignored = new SpringApplicationBuilder(VrEscapeRoomApplication.class)
+                .properties(Map.of(
+                        "spring.datasource.url", postgres.getJdbcUrl(),
+                        "spring.datasource.username", postgres.getUsername(),
+                        "spring.datasource.password", postgres.getPassword(),
+                        "app.seed.enabled", String.valueOf(seed),
+                        "email.enabled", "false",
+                        "server.port", "0",
+                        "spring.main.banner-mode", "off"))
+                .listeners(listener)
+                .run())
+        {
+            assertThat(ready.get()).as("time to ApplicationReadyEvent").isNotNull();
+            return ready.get();
+        }
+    }
+
+    private static long median(List<Duration> times)
+    {
+        List<Long> sorted = times.stream().map(Duration::toMillis).sorted().toList();
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static List<Long> millis(List<Duration> times)
+    {
+        return times.stream().map(Duration::toMillis).toList();
+    }
+}
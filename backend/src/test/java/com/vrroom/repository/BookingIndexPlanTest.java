@@ -0,0 +1,277 @@
+package com.vrroom.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.vrroom.PostgresTestConfig;
+import com.vrroom.config.SqlStatementCounter;
+import com.vrroom.dto.BookingFilter;
+import com.vrroom.model.enums.BookingStatus;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * EXPLAIN regression checks for the hot booking queries against the migrated schema: each plan has to use
+ * the index from V3__booking_indexes.sql meant for it and must not fall back to a Seq Scan on booking or
+ * booking_game. Sequential scans are disabled for the EXPLAIN so the planner picks an index whenever one
+ * applies, whatever the size of the test data; a query no index serves still shows up as a Seq Scan.
+ * <p>
+ * Native queries are explained from their {@link Query} annotations. JPQL ones are run through the repositories
+ * while {@link SqlStatementCounter} captures the SQL Hibernate prepares, which is then explained with the same
+ * parameter values bound, so a changed query or Hibernate version is what gets checked.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(PostgresTestConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingIndexPlanTest
+{
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (booking|booking_game)\\b");
+    private static final Pattern NAMED_PARAM = Pattern.compile("(?<!:):(\\w+)");
+
+    private static final LocalDate FROM = LocalDate.of(2030, 2, 1);
+    private static final LocalDate TO = LocalDate.of(2030, 3, 3);
+    private static final BookingPageRepository.PageKey AFTER =
+            new BookingPageRepository.PageKey(LocalDate.of(2030, 3, 1), LocalTime.NOON, "plan-100");
+    private static final int PAGE_LIMIT = 51;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @BeforeAll
+    void createBookings()
+    {
+        jdbcTemplate.update("delete from booking_game");
+        jdbcTemplate.update("delete from booking");
+        jdbcTemplate.update("""
+            insert into app_user (id, email, first_name, last_name, password, active, created_at)
+            select 'plan-user-' || u, 'plan-user-' || u || '@example.com', 'Plan', 'User', 'x', true, now()
+              from generate_series(1, 100) u
+            on conflict do nothing
+            """);
+        jdbcTemplate.update("""
+            insert into game (id, name, code, duration, min_players, max_players, difficulty, active, created_at)
+            values ('plan-game', 'Plan game', 'PLANS', 60, 1, 6, 1, true, now())
+            on conflict do nothing
+            """);
+        // 20k bookings over 400 days, every status and payment method, a third of them with a user
+        jdbcTemplate.update("""
+            insert into booking (id, user_id, booking_date, booking_time, total_price, status, payment_method,
+                                 customer_first_name, customer_last_name, customer_email,
+                                 rooms_count, headsets_count, duration_minutes, created_at, version)
+            select 'plan-' || i,
+                   case when i % 3 = 0 then 'plan-user-' || (i % 100 + 1) end,
+                   date '2030-01-01' + (i % 400),
+                   time '12:00' + make_interval(hours => i % 10),
+                   1000,
+                   (array['PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED'])[i % 4 + 1],
+                   case when i % 2 = 0 then 'ONLINE' else 'IN_PERSON' end,
+                   'Plan', 'Customer', 'customer' || i || '@example.com',
+                   1, 2, 60,
+                   timestamp '2030-01-01' - make_interval(mins => i),
+                   0
+              from generate_series(1, 20000) i
+            """);
+        jdbcTemplate.update("""
+            insert into booking_game (id, booking_id, game_id, room_number, player_count)
+            select 'plan-line-' || i, 'plan-' || i, 'plan-game', 1, 2
+              from generate_series(1, 20000) i
+            """);
+        jdbcTemplate.execute("analyze booking");
+        jdbcTemplate.execute("analyze booking_game");
+    }
+
+    // ----- listing: BookingPageRepositoryImpl keyset pages -----
+
+    @Test
+    void keysetPageUsesDateTimeIdIndex()
+    {
+        String plan = explainRead(() -> bookingRepository.findPage(new BookingFilter(), AFTER, false, PAGE_LIMIT),
+                AFTER.date(), AFTER.time(), AFTER.id(), PAGE_LIMIT);
+
+        assertThat(plan).contains("ix_booking_date_time_id").doesNotContainPattern(SEQ_SCAN);
+    }
+
+    @Test
+    void descendingKeysetPageUsesDateTimeIdIndex()
+    {
+        String plan = explainRead(() -> bookingRepository.findPage(new BookingFilter(), AFTER, true, PAGE_LIMIT),
+                AFTER.date(), AFTER.time(), AFTER.id(), PAGE_LIMIT);
+
+        assertThat(plan).contains("ix_booking_date_time_id").doesNotContainPattern(SEQ_SCAN);
+    }
+
+    @Test
+    void statusPageUsesStatusDateTimeIdIndex()
+    {
+        BookingFilter filter = BookingFilter.builder().status(BookingStatus.CONFIRMED).build();
+
+        String plan = explainRead(() -> bookingRepository.findPage(filter, AFTER, false, PAGE_LIMIT),
+                "CONFIRMED", AFTER.date(), AFTER.time(), AFTER.id(), PAGE_LIMIT);
+
+        assertThat(plan).contains("ix_booking_status_date_time_id").doesNotContainPattern(SEQ_SCAN);
+    }
+
+    @Test
+    void userPageUsesUserDateTimeIdIndex()
+    {
+        BookingFilter filter = BookingFilter.builder().userId("plan-user-7").build();
+
+        String plan = explainRead(() -> bookingRepository.findPage(filter, null, false, PAGE_LIMIT),
+                "plan-user-7", PAGE_LIMIT);
+
+        assertThat(plan).contains("ix_booking_user_date_time_id").doesNotContainPattern(SEQ_SCAN);
+    }
+
+    @Test
+    void emailPrefixPageUsesEmailPrefixIndex()
+    {
+        BookingFilter filter = BookingFilter.builder().email("Customer123").build();
+
+        String plan = explainRead(() -> bookingRepository.findPage(filter, null, false, PAGE_LIMIT),
+                "customer123%", PAGE_LIMIT);
+
+        assertThat(plan).contains("ix_booking_email_prefix").doesNotContainPattern(SEQ_SCAN);
+    }
+
+    // ----- availability: BookingRepository occupancy reads, slot_inventory recounts -----
+
+    @Test
+    void occupancyRangeUsesLiveIndex()
+    {
+        String plan = explainRead(() -> bookingRepository.findOccupancyForRange(FROM, TO), FROM, TO);
+
+        assertThat(plan).contains("ix_booking_live_date_time").doesNotContainPattern(SEQ_SCAN);
+    }
+
+    @Test
+    void occupancySumsUseLiveIndex()
+    {
+        String plan = explainRead(() -> bookingRepository.sumOccupiedRoomsForRange(FROM, TO), FROM, TO);
+
+        assertThat(plan).contains("ix_booking_live_date_time").doesNotContainPattern(SEQ_SCAN);
+    }
+
+    @Test
+    void usedRoomsRangeUsesLiveAndLineIndexes()
+    {
+        String plan = explainRead(() -> bookingRepository.findUsedRoomsForRange(FROM, TO), FROM, TO);
+
+        assertThat(plan).contains("ix_booking_live_date_time", "ix_booking_game_booking")
+                .doesNotContainPattern(SEQ_SCAN);
+    }
+
+    @Test
+    void slotResyncUsesLiveAndLineIndexes()
+    {
+        String plan = explain(nativeQuery(SlotInventoryRepository.class, "resync", Map.of(
+                "date", "date '2030-02-01'",
+                "time", "time '13:00'")));
+
+        assertThat(plan).contains("ix_booking_live_date_time", "ix_booking_game_booking")
+                .doesNotContainPattern(SEQ_SCAN);
+    }
+
+    // ----- reaper: HoldReaper's batch -----
+
+    @Test
+    void expiredHoldsUsePendingCreatedIndex()
+    {
+        String plan = explain(nativeQuery(BookingRepository.class, "cancelExpiredHolds", Map.of(
+                "holdCutoff", "timestamp '2029-12-31 12:00'",
+                "batchSize", "500",
+                "now", "timestamp '2030-01-01 00:00'")));
+
+        assertThat(plan).contains("ix_booking_pending_created").doesNotContainPattern(SEQ_SCAN);
+    }
+
+    @Test
+    void reapedDaysResyncUsesLiveAndLineIndexes()
+    {
+        String plan = explain(nativeQuery(SlotInventoryRepository.class, "resyncDays", Map.of(
+                "dates", "date '2030-02-01', date '2030-02-02'")));
+
+        assertThat(plan).contains("ix_booking_live_date_time", "ix_booking_game_booking")
+                .doesNotContainPattern(SEQ_SCAN);
+    }
+
+    /** Plain EXPLAIN (nothing runs, updates included) with sequential scans disabled for this transaction only. */
+    private String explain(String sql)
+    {
+        List<String> lines = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            jdbcTemplate.execute("set local enable_seqscan = off");
+            return jdbcTemplate.queryForList("explain " + sql, String.class);
+        });
+        return String.join("\n", lines);
+    }
+
+    /**
+     * Runs {@code read}, captures the one statement Hibernate prepares for it and explains that SQL with
+     * {@code params} bound to its JDBC parameters, in order.
+     */
+    private String explainRead(Runnable read, Object... params)
+    {
+        List<String> lines = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            List<String> statements = sqlStatementCounter.capture(read);
+            assertThat(statements).as("statements prepared for the read").hasSize(1);
+            String sql = statements.get(0);
+            assertThat(sql.chars().filter(c -> c == '?').count()).as("JDBC parameters of %s", sql)
+                    .isEqualTo(params.length);
+
+            jdbcTemplate.execute("set local enable_seqscan = off");
+            return jdbcTemplate.queryForList("explain " + sql, String.class, params);
+        });
+        return String.join("\n", lines);
+    }
+
+    /** The SQL of a native {@link Query} method with its named parameters replaced by the given literals. */
+    private static String nativeQuery(Class<?> repository, String method, Map<String, String> literals)
+    {
+        Method m = Arrays.stream(repository.getMethods())
+                .filter(candidate -> candidate.getName().equals(method))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No method " + method + " on " + repository));
+        Query query = m.getAnnotation(Query.class);
+        assertThat(query.nativeQuery()).as("%s is a native query", method).isTrue();
+
+        Matcher matcher = NAMED_PARAM.matcher(query.value());
+        StringBuilder sql = new StringBuilder();
+        while (matcher.find())
+        {
+            String literal = literals.get(matcher.group(1));
+            if (literal == null)
+            {
+                throw new IllegalArgumentException("No literal for :" + matcher.group(1) + " in " + method);
+            }
+            matcher.appendReplacement(sql, Matcher.quoteReplacement(literal));
+        }
+        matcher.appendTail(sql);
+        return sql.toString();
+    }
+}
@@ -0,0 +1,189 @@
+package com.vrroom.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.vrroom.PostgresTestConfig;
+import com.vrroom.dto.BookingFilter;
+import com.vrroom.dto.BookingPageDTO;
+import com.vrroom.model.entity.Booking;
+import com.vrroom.model.entity.BookingGame;
+import com.vrroom.model.entity.Game;
+import com.vrroom.model.enums.BookingStatus;
+import com.vrroom.model.enums.PaymentMethod;
+import com.vrroom.repository.BookingRepository;
+import com.vrroom.repository.GameRepository;
+import com.vrroom.service.BookingService;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Pins the statements a booking read costs: the bookings query plus one batched query for their lines,
+ * the same for one booking as for a full page.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(PostgresTestConfig.class)
+class BookingServiceImplStatementCountTest
+{
+    private static final long READ_STATEMENTS = 2;
+    private static final int MANY = 50;
+    private static final LocalDate DAY = LocalDate.of(2029, 6, 1);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Game game;
+
+    @BeforeEach
+    void setUp()
+    {
+        jdbcTemplate.update("delete from booking_game");
+        jdbcTemplate.update("delete from booking");
+        game = gameRepository.findByCode("STATEMENTS").orElseGet(() -> gameRepository.save(Game.builder()
+                .name("Statement count")
+                .code("STATEMENTS")
+                .duration(60)
+                .minPlayers(1)
+                .maxPlayers(6)
+                .difficulty(1)
+                .active(true)
+                .build()));
+    }
+
+    @Test
+    void listReadRunsTheSameStatementsForOneAndManyBookings()
+    {
+        saveBookings(1, DAY);
+        long one = statementsOf(() -> bookingService.getBookingsByDate(DAY)).statements();
+
+        saveBookings(MANY - 1, DAY);
+        var many = statementsOf(() -> bookingService.getBookingsByDate(DAY));
+
+        assertThat(many.result()).hasSize(MANY).allSatisfy(b -> assertThat(b.getBookingGames()).hasSize(2));
+        assertThat(one).isEqualTo(READ_STATEMENTS);
+        assertThat(many.statements()).isEqualTo(READ_STATEMENTS);
+    }
+
+    @Test
+    void pageReadRunsTheSameStatementsForOneAndManyBookings()
+    {
+        saveBookings(1);
+        long one = statementsOf(() -> firstPage(new BookingFilter())).statements();
+
+        saveBookings(MANY - 1);
+        var many = statementsOf(() -> firstPage(new BookingFilter()));
+
+        assertThat(many.result().getItems()).hasSize(MANY).allSatisfy(b -> assertThat(b.getBookingGames()).hasSize(2));
+        assertThat(one).isEqualTo(READ_STATEMENTS);
+        assertThat(many.statements()).isEqualTo(READ_STATEMENTS);
+    }
+
+    @Test
+    void filteredPageReadRunsTheSameStatementsForOneAndManyBookings()
+    {
+        BookingFilter pending = BookingFilter.builder().status(BookingStatus.PENDING).build();
+        saveBookings(1);
+        long one = statementsOf(() -> firstPage(pending)).statements();
+
+        saveBookings(MANY - 1);
+        var many = statementsOf(() -> firstPage(pending));
+
+        assertThat(many.result().getItems()).hasSize(MANY);
+        assertThat(one).isEqualTo(READ_STATEMENTS);
+        assertThat(many.statements()).isEqualTo(READ_STATEMENTS);
+    }
+
+    @Test
+    void filteredTotalCostsOneStatementForOneAndManyBookings()
+    {
+        BookingFilter pending = BookingFilter.builder().status(BookingStatus.PENDING).build();
+        saveBookings(1);
+        long one = statementsOf(() -> firstPageWithTotal(pending)).statements();
+
+        saveBookings(MANY - 1);
+        var many = statementsOf(() -> firstPageWithTotal(pending));
+
+        // An estimate, not a count: one EXPLAIN on top of the page, however many rows match
+        assertThat(many.result().getApproximateTotal()).isNotNull().isNotNegative();
+        assertThat(one).isEqualTo(READ_STATEMENTS + 1);
+        assertThat(many.statements()).isEqualTo(READ_STATEMENTS + 1);
+    }
+
+    private BookingPageDTO firstPage(BookingFilter filter)
+    {
+        return bookingService.getBookingsPage(filter, null, MANY, false, false);
+    }
+
+    private BookingPageDTO firstPageWithTotal(BookingFilter filter)
+    {
+        return bookingService.getBookingsPage(filter, null, MANY, false, true);
+    }
+
+    private <T> Counted<T> statementsOf(Supplier<T> read)
+    {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        T result = read.get();
+        return new Counted<>(result, statistics.getPrepareStatementCount());
+    }
+
+    /** Bookings with two lines each, on distinct days so pages have a stable order. */
+    private void saveBookings(int count)
+    {
+        saveBookings(count, null);
+    }
+
+    /** As {@link #saveBookings(int)}, all on {@code day} unless it is null. */
+    private void saveBookings(int count, LocalDate day)
+    {
+        long existing = bookingRepository.count();
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            Booking booking = Booking.builder()
+                    .bookingDate(day != null ? day : LocalDate.of(2030, 1, 1).plusDays(existing + i))
+                    .bookingTime(LocalTime.NOON)
+                    .status(BookingStatus.PENDING)
+                    .paymentMethod(PaymentMethod.IN_PERSON)
+                    .customerFirstName("Test")
+                    .customerLastName("Customer")
+                    .customerEmail("customer" + (existing + i) + "@example.com")
+                    .totalPrice(BigDecimal.valueOf(2000))
+                    .build();
+            booking.addBookingGame(BookingGame.builder().game(game).roomNumber(1).playerCount(2).build());
+            booking.addBookingGame(BookingGame.builder().game(game).roomNumber(2).playerCount(2).build());
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+    }
+
+    private record Counted<T>(T result, long statements)
+    {
+    }
+}
@@ -0,0 +1,125 @@
+package com.vrroom.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.BitSet;
+import org.junit.jupiter.api.Test;
+
+class RoomAllocatorTest
+{
+    private static final long ANY = -1L;
+
+    @Test
+    void takesTheLowestFreeRoomWithoutRestrictions()
+    {
+        long free = rooms(2, 3, 4);
+
+        assertThat(RoomAllocator.allocate(free, new long[]{ANY}, 0L)).containsExactly(2);
+    }
+
+    @Test
+    void servesTheMostConstrainedRequestFirst()
+    {
+        // Lowest-free in request order would give room 2 to the first entry and leave nothing for the second
+        long free = rooms(2, 3);
+        long[] compatible = {rooms(2, 3), rooms(2)};
+
+        assertThat(RoomAllocator.allocate(free, compatible, 0L)).containsExactly(3, 2);
+    }
+
+    @Test
+    void prefersDedicatedRoomsOverGenericOnes()
+    {
+        long free = rooms(1, 2, 3);
+
+        assertThat(RoomAllocator.allocate(free, new long[]{ANY}, rooms(3))).containsExactly(3);
+    }
+
+    @Test
+    void fallsBackToGenericRoomsWhenNoDedicatedRoomIsFree()
+    {
+        long free = rooms(1, 2);
+
+        assertThat(RoomAllocator.allocate(free, new long[]{ANY}, rooms(3))).containsExactly(1);
+    }
+
+    @Test
+    void returnsNullWhenNoFreeRoomIsCompatible()
+    {
+        long free = rooms(1, 2, 3);
+
+        assertThat(RoomAllocator.allocate(free, new long[]{rooms(4)}, 0L)).isNull();
+    }
+
+    @Test
+    void allocatesDistinctRoomsForMultiRoomRequests()
+    {
+        long free = rooms(1, 2, 4, 5);
+
+        assertThat(RoomAllocator.allocate(free, new long[]{ANY, ANY, ANY}, 0L)).containsExactly(1, 2, 4);
+    }
+
+    @Test
+    void returnsNullWhenAMultiRoomRequestDoesNotFit()
+    {
+        long free = rooms(1, 2);
+
+        assertThat(RoomAllocator.allocate(free, new long[]{ANY, ANY, ANY}, 0L)).isNull();
+    }
+
+    @Test
+    void maskLeavesOutRoomsPastTheBitmask()
+    {
+        assertThat(RoomAllocator.mask(new int[]{1, 3, 63, 64})).isEqualTo(rooms(1, 3, 63));
+    }
+
+    @Test
+    void lowestFreeReusesARoomFreedByACancellation()
+    {
+        // Rooms 1-3 were booked and room 2 cancelled: the next booking gets 2, not 3 again
+        BitSet used = used(1, 3);
+
+        assertThat(RoomAllocator.lowestFree(used, 100, 1)).containsExactly(2);
+        assertThat(RoomAllocator.lowestFree(used, 100, 2)).containsExactly(2, 4);
+    }
+
+    @Test
+    void lowestFreeGoesPastTheBitmaskRooms()
+    {
+        BitSet used = new BitSet();
+        used.set(1, 71);
+        used.clear(66);
+
+        assertThat(RoomAllocator.lowestFree(used, 80, 2)).containsExactly(66, 71);
+    }
+
+    @Test
+    void lowestFreeReturnsNullPastCapacity()
+    {
+        BitSet used = new BitSet();
+        used.set(1, 100);
+
+        assertThat(RoomAllocator.lowestFree(used, 100, 1)).containsExactly(100);
+        assertThat(RoomAllocator.lowestFree(used, 100, 2)).isNull();
+    }
+
+    private static long rooms(int... roomNumbers)
+    {
+        long mask = 0L;
+        for (int room : roomNumbers)
+        {
+            mask |= RoomCompatibility.bit(room);
+        }
+        return mask;
+    }
+
+    private static BitSet used(int... roomNumbers)
+    {
+        BitSet used = new BitSet();
+        for (int room : roomNumbers)
+        {
+            used.set(room);
+        }
+        return used;
+    }
+}
@@ -0,0 +1,88 @@
+package com.vrroom.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SlotSpansTest
+{
+    @Test
+    void singleSlotSpansAreTheRowItself()
+    {
+        int[] row = {3, 1, 4, 1, 5};
+
+        assertThat(SlotSpans.max(row, 1)).containsExactly(row);
+        assertThat(SlotSpans.or(new long[]{1L, 2L, 4L}, 1)).containsExactly(1L, 2L, 4L);
+    }
+
+    @Test
+    void lastStartIsTheOneWhoseSpanEndsAtClosing()
+    {
+        int[] row = {1, 5, 2, 0, 3};
+
+        // Starts 0..2 fit a 3-slot span in a 5-slot day; start 2 covers the last slot
+        assertThat(SlotSpans.max(row, 3)).containsExactly(5, 5, 3);
+        assertThat(SlotSpans.or(new long[]{1L, 0L, 0L, 8L}, 2)).containsExactly(1L, 0L, 8L);
+    }
+
+    @Test
+    void spanOfTheWholeDayHasOneStart()
+    {
+        assertThat(SlotSpans.max(new int[]{2, 7, 1}, 3)).containsExactly(7);
+        assertThat(SlotSpans.or(new long[]{1L, 2L, 4L}, 3)).containsExactly(7L);
+    }
+
+    @Test
+    void spanLongerThanTheDayHasNoStart()
+    {
+        assertThat(SlotSpans.max(new int[]{2, 7, 1}, 4)).isEmpty();
+        assertThat(SlotSpans.or(new long[]{1L, 2L, 4L}, 4)).isEmpty();
+        assertThat(SlotSpans.max(new int[0], 1)).isEmpty();
+    }
+
+    @Test
+    void matchesANaiveScanForEverySpan()
+    {
+        Random random = new Random(7);
+        for (int length = 1; length <= 20; length++)
+        {
+            int[] counts = random.ints(length, 0, 10).toArray();
+            long[] masks = random.longs(length).toArray();
+            for (int span = 1; span <= length; span++)
+            {
+                assertThat(SlotSpans.max(counts, span)).as("max, %d slots, span %d", length, span)
+                        .containsExactly(naiveMax(counts, span));
+                assertThat(SlotSpans.or(masks, span)).as("or, %d slots, span %d", length, span)
+                        .containsExactly(naiveOr(masks, span));
+            }
+        }
+    }
+
+    private static int[] naiveMax(int[] row, int span)
+    {
+        int[] result = new int[row.length - span + 1];
+        for (int i = 0; i < result.length; i++)
+        {
+            result[i] = Integer.MIN_VALUE;
+            for (int j = i; j < i + span; j++)
+            {
+                result[i] = Math.max(result[i], row[j]);
+            }
+        }
+        return result;
+    }
+
+    private static long[] naiveOr(long[] row, int span)
+    {
+        long[] result = new long[row.length - span + 1];
+        for (int i = 0; i < result.length; i++)
+        {
+            for (int j = i; j < i + span; j++)
+            {
+                result[i] |= row[j];
+            }
+        }
+        return result;
+    }
+}
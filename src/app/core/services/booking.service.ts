@@ -2,7 +2,15 @@ import {inject, Injectable} from '@angular/core';
 import {Observable} from 'rxjs';
 import {ApiService} from './api.service';
 import {GameService} from './game.service';
-import {Booking, BookingRequest, BookingResponse, BookingStatus} from '../../models/booking.model';
+import {
+    Booking,
+    BookingPage,
+    BookingPageQuery,
+    BookingRequest,
+    BookingResponse,
+    BookingStatus,
+    DaySummary
+} from '../../models/booking.model';
 import {DaySchedule} from "../../shared/components/calendar/calendar.component";
 
 @Injectable({
@@ -12,26 +20,24 @@ export class BookingService {
     private apiService = inject(ApiService);
     private gameService = inject(GameService);
 
-    getAllBookings(params?: any): Observable<Booking[]> {
-        return this.apiService.get<Booking[]>('/bookings', params);
+    /** Keyset-paged admin listing; pass the previous page's nextCursor as cursor to continue. */
+    getBookingsPage(query: BookingPageQuery = {}): Observable<BookingPage> {
+        return this.apiService.get<BookingPage>('/bookings/page', query);
     }
 
-    getBookingById(id: string): Observable<Booking> {
-        return this.apiService.get<Booking>(`/bookings/${id}`);
+    getUserBookingsPage(query: Omit<BookingPageQuery, 'dateFrom' | 'dateTo' | 'email'> = {}): Observable<BookingPage> {
+        return this.apiService.get<BookingPage>('/bookings/my-bookings/page', query);
     }
 
-    getUserBookings(): Observable<Booking[]> {
-        return this.apiService.get<Booking[]>('/bookings/my-bookings');
+    getBookingById(id: string): Observable<Booking> {
+        return this.apiService.get<Booking>(`/bookings/${id}`);
     }
 
+    /** One day's bookings (bounded by the day's slots), for the schedule view. */
     getBookingsByDate(date: string): Observable<Booking[]> {
         return this.apiService.get<Booking[]>('/bookings/by-date', {date});
     }
 
-    getBookingsByStatus(status: BookingStatus): Observable<Booking[]> {
-        return this.apiService.get<Booking[]>(`/bookings/status/${status}`);
-    }
-
     createBooking(bookingRequest: BookingRequest): Observable<BookingResponse> {
         return this.apiService.post<BookingResponse>('/bookings', bookingRequest);
     }
@@ -54,4 +60,8 @@ export class BookingService {
     getAvailability(startDate: string, endDate: string): Observable<DaySchedule[]> {
         return this.apiService.get<DaySchedule[]>('/bookings/availability', {startDate, endDate});
     }
+
+    getAvailabilitySummary(startDate: string, endDate: string): Observable<DaySummary[]> {
+        return this.apiService.get<DaySummary[]>('/bookings/availability/summary', {startDate, endDate});
+    }
 }
@@ -19,6 +19,23 @@ export interface Booking {
     bookingGames?: BookingGame[];
 }
 
+export interface BookingPage {
+    items: Booking[];
+    nextCursor: string | null;
+    approximateTotal?: number | null;
+}
+
+export interface BookingPageQuery {
+    status?: BookingStatus;
+    dateFrom?: string;
+    dateTo?: string;
+    email?: string;
+    cursor?: string;
+    size?: number;
+    sort?: 'asc' | 'desc';
+    withTotal?: boolean;
+}
+
 export interface BookingGame {
     id: string;
     gameId: string;
@@ -43,7 +60,7 @@ export enum PaymentMethod {
 
 export interface BookingGameRequest {
     gameId: string;
-    roomNumber: number;
+    roomNumber?: number; // lines with the same number share a room; the server picks the physical room
     playerCount: number;
     price: number;
 }
@@ -73,3 +90,11 @@ export interface Customer {
     email: string,
     phone: string
 }
+
+export interface DaySummary {
+    date: string;
+    freeRoomSlots: number;
+    totalRoomSlots: number;
+    soldOut: boolean;
+    earliestFreeTime: string | null;
+}
@@ -3,6 +3,8 @@ import {Game} from "./game.model";
 export interface SystemConfig {
     id?: string;
     maxConcurrentBookings: number;
+    maxHeadsets?: number | null;
+    maxStaff?: number | null;
     openingTime?: string;
     closingTime?: string;
     slotDurationMinutes?: number;
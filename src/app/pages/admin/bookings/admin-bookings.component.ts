@@ -1,14 +1,19 @@
 // src/app/pages/admin/bookings/admin-bookings.component.ts
-import {Component, inject, OnInit, signal} from '@angular/core';
+import {Component, DestroyRef, inject, OnInit, signal} from '@angular/core';
+import {takeUntilDestroyed} from '@angular/core/rxjs-interop';
 import {CommonModule} from '@angular/common';
 import {FormsModule} from '@angular/forms';
+import {Subject, Subscription} from 'rxjs';
+import {debounceTime} from 'rxjs/operators';
 
-import {Booking, BookingStatus} from '../../../models/booking.model';
+import {Booking, BookingPageQuery, BookingStatus} from '../../../models/booking.model';
 import {BookingService} from '../../../core/services/booking.service';
 import {NotificationService} from '../../../core/services/notification.service';
 import {ButtonComponent} from "../../../shared/components/button/button.component";
 import {LoadingComponent} from "../../../shared/components/loading/loading.component";
 
+const PAGE_SIZE = 50;
+
 @Component({
     selector: 'app-admin-bookings',
     standalone: true,
@@ -19,13 +24,22 @@ import {LoadingComponent} from "../../../shared/components/loading/loading.compo
 export class AdminBookingsComponent implements OnInit {
     private bookingService = inject(BookingService);
     private notificationService = inject(NotificationService);
+    private destroyRef = inject(DestroyRef);
 
     loading = signal(false);
+    loadingMore = signal(false);
     bookings = signal<Booking[]>([]);
+    // keyset cursor of the next page; null once the last page is loaded
+    nextCursor = signal<string | null>(null);
+    approximateTotal = signal<number | null>(null);
 
-    // filters
+    // filters (applied server-side)
     filterStatus = signal<'ALL' | BookingStatus>('ALL');
     filterDate = signal<string>('');
+    filterEmail = signal<string>('');
+
+    private emailInput = new Subject<string>();
+    private pageRequest?: Subscription;
 
     readonly statusOptions: { value: 'ALL' | BookingStatus; label: string }[] = [
         {value: 'ALL', label: 'All statuses'},
@@ -39,41 +53,71 @@ export class AdminBookingsComponent implements OnInit {
     BookingStatus = BookingStatus; // for template if needed
 
     ngOnInit(): void {
+        // search as the admin types, once they pause
+        this.emailInput.pipe(
+            debounceTime(300),
+            takeUntilDestroyed(this.destroyRef)
+        ).subscribe(email => {
+            if (email.trim() === this.filterEmail().trim()) {
+                return;
+            }
+            this.filterEmail.set(email);
+            this.loadBookings();
+        });
+
         this.loadBookings();
     }
 
+    /** First page for the current filters, with an approximate total. */
     loadBookings(): void {
         this.loading.set(true);
+        this.fetchPage({...this.pageQuery(), withTotal: true}, false);
+    }
 
-        const status = this.filterStatus();
-        const date = this.filterDate();
-
-        let obs;
-
-        if (date) {
-            // filter by date
-            obs = this.bookingService.getBookingsByDate(date);
-        } else if (status !== 'ALL') {
-            // filter by status
-            obs = this.bookingService.getBookingsByStatus(status);
-        } else {
-            // all bookings
-            obs = this.bookingService.getAllBookings();
+    loadMore(): void {
+        const cursor = this.nextCursor();
+        if (!cursor || this.loadingMore()) {
+            return;
         }
-
-        obs.subscribe({
-            next: (list) => {
-                this.bookings.set(list ?? []);
+        this.loadingMore.set(true);
+        this.fetchPage({...this.pageQuery(), cursor}, true);
+    }
+
+    private fetchPage(query: BookingPageQuery, append: boolean): void {
+        // a new filter wins over a page still loading for the old one
+        this.pageRequest?.unsubscribe();
+        this.pageRequest = this.bookingService.getBookingsPage(query).subscribe({
+            next: (page) => {
+                this.bookings.set(append ? [...this.bookings(), ...page.items] : page.items);
+                this.nextCursor.set(page.nextCursor);
+                if (!append) {
+                    this.approximateTotal.set(page.approximateTotal ?? null);
+                }
                 this.loading.set(false);
+                this.loadingMore.set(false);
             },
             error: (err) => {
                 console.error('Error loading bookings', err);
                 this.notificationService.error('Failed to load bookings');
                 this.loading.set(false);
+                this.loadingMore.set(false);
             }
         });
     }
 
+    private pageQuery(): BookingPageQuery {
+        const status = this.filterStatus();
+        const date = this.filterDate();
+        const email = this.filterEmail().trim();
+        return {
+            status: status !== 'ALL' ? status : undefined,
+            dateFrom: date || undefined,
+            dateTo: date || undefined,
+            email: email || undefined,
+            size: PAGE_SIZE
+        };
+    }
+
     onStatusChange(value: string): void {
         this.filterStatus.set(value as 'ALL' | BookingStatus);
         this.loadBookings();
@@ -84,9 +128,14 @@ export class AdminBookingsComponent implements OnInit {
         this.loadBookings();
     }
 
+    onEmailChange(value: string): void {
+        this.emailInput.next(value);
+    }
+
     clearFilters(): void {
         this.filterStatus.set('ALL');
         this.filterDate.set('');
+        this.filterEmail.set('');
         this.loadBookings();
     }
 
@@ -167,8 +216,8 @@ export class AdminBookingsComponent implements OnInit {
         this.bookingService.updateBookingStatus(b.id, status).subscribe({
             next: (updated) => {
                 this.notificationService.success(`Booking marked as ${status}`);
-                // cheap refresh
-                this.loadBookings();
+                // update the row in place so the pages loaded so far stay put
+                this.replaceBooking(updated);
             },
             error: (err) => {
                 console.error('Update status error', err);
@@ -185,7 +234,7 @@ export class AdminBookingsComponent implements OnInit {
         this.bookingService.cancelBooking(b.id).subscribe({
             next: () => {
                 this.notificationService.success('Booking cancelled');
-                this.loadBookings();
+                this.replaceBooking({...b, status: BookingStatus.CANCELLED});
             },
             error: (err) => {
                 console.error('Cancel booking error', err);
@@ -193,4 +242,8 @@ export class AdminBookingsComponent implements OnInit {
             }
         });
     }
+
+    private replaceBooking(updated: Booking): void {
+        this.bookings.set(this.bookings().map(x => x.id === updated.id ? updated : x));
+    }
 }
@@ -2,8 +2,10 @@
 import {Component, inject, OnInit, signal} from '@angular/core';
 import {CommonModule} from '@angular/common';
 import {RouterModule} from '@angular/router';
+import {EMPTY, forkJoin, Observable} from 'rxjs';
+import {expand, reduce} from 'rxjs/operators';
 import {BookingService} from '../../../core/services/booking.service';
-import {Booking, BookingStatus} from '../../../models/booking.model';
+import {Booking, BookingPageQuery, BookingStatus} from '../../../models/booking.model';
 import {ButtonComponent} from '../../../shared/components/button/button.component';
 import {LoadingComponent} from '../../../shared/components/loading/loading.component';
 
@@ -35,19 +37,18 @@ export class AdminDashboardComponent implements OnInit {
     private loadDashboardData(): void {
         this.loading.set(true);
 
-        this.bookingService.getAllBookings().subscribe({
-            next: (bookings) => {
-                this.loading.set(false);
-
-                const all: Booking[] = bookings ?? [];
-                this.totalBookings.set(all.length);
+        const today = this.toIsoDate(new Date());
 
-                const now = new Date();
+        // Only today's bookings are loaded (a day's slots bound them), page by page;
+        // the overall total is the server's estimate, not a download of every booking.
+        forkJoin({
+            todays: this.loadAllPages({dateFrom: today, dateTo: today, sort: 'asc', size: 200}),
+            total: this.bookingService.getBookingsPage({size: 1, withTotal: true})
+        }).subscribe({
+            next: ({todays, total}) => {
+                this.loading.set(false);
 
-                // 🔹 Filter bookings for "today" based on bookingDate
-                const todays = all.filter((b) =>
-                    this.isSameDay(b.bookingDate, now)
-                );
+                this.totalBookings.set(total.approximateTotal ?? 0);
                 this.todayBookings.set(todays);
 
                 // 🔹 Confirmed today
@@ -74,18 +75,23 @@ export class AdminDashboardComponent implements OnInit {
         });
     }
 
-    private isSameDay(date: Date | string, today: Date): boolean {
-        if (!date) return false;
-
-        const d = typeof date === 'string' ? new Date(date) : date;
-
-        return (
-            d.getFullYear() === today.getFullYear() &&
-            d.getMonth() === today.getMonth() &&
-            d.getDate() === today.getDate()
+    /** Follows nextCursor until the last page; only for queries bounded by a date range. */
+    private loadAllPages(query: BookingPageQuery): Observable<Booking[]> {
+        return this.bookingService.getBookingsPage(query).pipe(
+            expand(page => page.nextCursor
+                ? this.bookingService.getBookingsPage({...query, cursor: page.nextCursor})
+                : EMPTY),
+            reduce((all, page) => all.concat(page.items), [] as Booking[])
         );
     }
 
+    // yyyy-MM-dd in local time (toISOString would shift to UTC)
+    private toIsoDate(d: Date): string {
+        const month = String(d.getMonth() + 1).padStart(2, '0');
+        const day = String(d.getDate()).padStart(2, '0');
+        return `${d.getFullYear()}-${month}-${day}`;
+    }
+
     getGameName(booking: Booking): string {
         const firstGame = booking.bookingGames?.[0];
         return firstGame?.gameName ?? '—';
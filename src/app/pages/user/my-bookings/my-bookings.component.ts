@@ -4,11 +4,14 @@ import {BookingService} from '../../../core/services/booking.service';
 import {Booking} from '../../../models/booking.model';
 import {TranslatePipe} from '@ngx-translate/core';
 import {LoadingComponent} from '../../../shared/components/loading/loading.component';
+import {ButtonComponent} from '../../../shared/components/button/button.component';
+
+const PAGE_SIZE = 20;
 
 @Component({
   selector: 'app-my-bookings',
   standalone: true,
-  imports: [CommonModule, TranslatePipe, LoadingComponent],
+  imports: [CommonModule, TranslatePipe, LoadingComponent, ButtonComponent],
   templateUrl: './my-bookings.component.html',
   styleUrls: ['./my-bookings.component.scss']
 })
@@ -17,6 +20,9 @@ export class MyBookingsComponent implements OnInit {
 
   bookings = signal<Booking[]>([]);
   loading = signal(false);
+  loadingMore = signal(false);
+  // keyset cursor of the next page; null once the last page is loaded
+  nextCursor = signal<string | null>(null);
 
   ngOnInit(): void {
     this.loadBookings();
@@ -24,9 +30,10 @@ export class MyBookingsComponent implements OnInit {
 
   loadBookings(): void {
     this.loading.set(true);
-    this.bookingService.getUserBookings().subscribe({
-      next: (bookings) => {
-        this.bookings.set(bookings);
+    this.bookingService.getUserBookingsPage({size: PAGE_SIZE}).subscribe({
+      next: (page) => {
+        this.bookings.set(page.items);
+        this.nextCursor.set(page.nextCursor);
         this.loading.set(false);
       },
       error: () => {
@@ -35,6 +42,24 @@ export class MyBookingsComponent implements OnInit {
     });
   }
 
+  loadMore(): void {
+    const cursor = this.nextCursor();
+    if (!cursor || this.loadingMore()) {
+      return;
+    }
+    this.loadingMore.set(true);
+    this.bookingService.getUserBookingsPage({size: PAGE_SIZE, cursor}).subscribe({
+      next: (page) => {
+        this.bookings.set([...this.bookings(), ...page.items]);
+        this.nextCursor.set(page.nextCursor);
+        this.loadingMore.set(false);
+      },
+      error: () => {
+        this.loadingMore.set(false);
+      }
+    });
+  }
+
   /** Prefer root gameName, fallback to first bookingGame.gameName */
   getGameName(b: Booking): string {
     const firstGame = b.bookingGames && b.bookingGames.length > 0 ? b.bookingGames[0] : null;